@@ -28,7 +28,7 @@ import com.ilyagubarev.algorithms.utils.CommonHelper;
  *
  * @see QueueModel
  *
- * @version 1.02, 30 September 2013
+ * @version 1.04, 27 October 2013
  * @since 22 September 2013
  * @author Ilya Gubarev
  */
@@ -110,6 +110,17 @@ public final class PriorityQueueModel<T> implements QueueModel<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Removes all items and releases the array model storing them.
+     */
+    public void destruct() {
+        if (_items != null) {
+            _factory.desctruct(_items);
+            _items = null;
+        }
+        _size = 0;
+    }
+
     private void assureRequiredSize() {
         if (_items == null) {
             _items = _factory.create(_initialCapacity);
@@ -120,6 +131,7 @@ public final class PriorityQueueModel<T> implements QueueModel<T> {
             for (int i = 0; i < _items.getSize(); i++) {
                 items.write(i, _items.read(i));
             }
+            _factory.desctruct(_items);
             _items = items;
         }
     }
@@ -139,6 +151,7 @@ public final class PriorityQueueModel<T> implements QueueModel<T> {
             if (CommonHelper.compare(_comparator, item, cItem) < 0) {
                 _items.write(index, cItem);
                 _items.write(child, item);
+                index = child;
             } else {
                 break;
             }
@@ -24,7 +24,7 @@ import com.ilyagubarev.algorithms.adt.utils.Counter;
  * @see Comparable
  * @see Model
  *
- * @version 1.05, 24 September 2013
+ * @version 1.07, 08 October 2013
  * @since 13 September 2013
  * @author Ilya Gubarev
  */
@@ -35,12 +35,44 @@ public final class ItemModel<T extends Comparable> extends Model
     private final Counter _comparisons;
     private final Counter _hashings;    
     private final Counter _tests;
+    private final Counter _inspections;
 
-    ItemModel(T data, Counter comparisons, Counter hashings, Counter tests) {
+    ItemModel(T data, Counter comparisons, Counter hashings, Counter tests,
+            Counter inspections) {
         _data = data;
         _comparisons = comparisons;
         _hashings = hashings;
         _tests = tests;
+        _inspections = inspections;
+    }
+
+    /**
+     * Gets data the item is based on.
+     *
+     * @return item data.
+     */
+    public T getData() {
+        throwExceptionIfDestructed();
+        return _data;
+    }
+
+    /**
+     * Gets a character of item data at specified position.
+     *
+     * @param index character position.
+     * @return character code or -1 if the position is out of item data.
+     * @throws UnsupportedOperationException if item data is not a character
+     *         sequence.
+     */
+    public int charAt(int index) {
+        throwExceptionIfDestructed();
+        if (!(_data instanceof CharSequence)) {
+            throw new UnsupportedOperationException(
+                    "item data is not a character sequence");
+        }
+        _inspections.increment();
+        CharSequence sequence = (CharSequence) _data;
+        return index < sequence.length() ? sequence.charAt(index) : -1;
     }
 
     @Override
@@ -21,7 +21,7 @@ import com.ilyagubarev.algorithms.adt.utils.Registry;
 /**
  * Item model factory.
  *
- * @version 1.04, 24 September 2013
+ * @version 1.05, 08 October 2013
  * @since 13 September 2013
  * @author Ilya Gubarev
  */
@@ -31,6 +31,7 @@ public final class ItemModelFactory {
     private final Counter _comparisons;
     private final Counter _hashings;
     private final Counter _tests;
+    private final Counter _inspections;
 
     /**
      * Creates a new instance of ItemModelFactory.
@@ -45,6 +46,23 @@ public final class ItemModelFactory {
      */
     public ItemModelFactory(Registry allocations, Counter comparisons,
             Counter hashings, Counter tests) {
+        this(allocations, comparisons, hashings, tests, new Counter());
+    }
+
+    /**
+     * Creates a new instance of ItemModelFactory.
+     *
+     * @param allocations a registry of memory allocations.
+     * @param comparisons a counter of item model comparisons.
+     * @param hashings a counter of item model hashings.
+     * @param tests a counter of item model equality tests.
+     * @param inspections a counter of item model character inspections.
+     *
+     * @see Counter
+     * @see Registry
+     */
+    public ItemModelFactory(Registry allocations, Counter comparisons,
+            Counter hashings, Counter tests, Counter inspections) {
         if (allocations == null) {
             throw new NullPointerException("allocations registry is null");
         }
@@ -57,10 +75,14 @@ public final class ItemModelFactory {
         if (tests == null) {
             throw new NullPointerException("tests counter is null");
         }
+        if (inspections == null) {
+            throw new NullPointerException("inspections counter is null");
+        }
         _allocations = allocations;
         _comparisons = comparisons;
         _hashings = hashings;
         _tests = tests;
+        _inspections = inspections;
     }
 
     /**
@@ -77,7 +99,8 @@ public final class ItemModelFactory {
         if (source == null) {
             throw new NullPointerException("source is null");
         }
-        result = new ItemModel(source, _comparisons, _hashings, _tests);
+        result = new ItemModel(source, _comparisons, _hashings, _tests,
+                _inspections);
         _allocations.register(result.getMemoryAllocation());
         return result;
     }
@@ -15,10 +15,15 @@
  */
 package com.ilyagubarev.algorithms.adt.utils;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
- * Simple counter.
+ * Simple thread-safe counter. Counters without an increment handler are
+ * striped, so concurrent increments by many threads do not contend on a
+ * single value.
  * 
- * @version 1.03, 13 September 2013
+ * @version 1.05, 19 October 2013
  * @since 02 September 2013
  * @author Ilya Gubarev
  */
@@ -38,8 +43,8 @@ public final class Counter {
     }
 
     private final OnIncrementHandler _handler;
-
-    private long _value;
+    private final AtomicLong _value;
+    private final LongAdder _adder;
 
     /**
      * Creates a new instance of Counter.
@@ -57,6 +62,13 @@ public final class Counter {
      */
     public Counter(OnIncrementHandler handler) {
         _handler = handler;
+        if (handler != null) {
+            _value = new AtomicLong();
+            _adder = null;
+        } else {
+            _value = null;
+            _adder = new LongAdder();
+        }
     }
 
     /**
@@ -65,16 +77,18 @@ public final class Counter {
      * @return current value.
      */
     public long getValue() {
-        return _value;
+        return _adder != null ? _adder.sum() : _value.get();
     }
 
     /**
      * Increments counter value by one.
      */
     public void increment() {
-        ++_value;
-        if (_handler != null) {
-            _handler.execute(_value);
+        if (_adder != null) {
+            _adder.increment();
+            return;
         }
+        long value = _value.incrementAndGet();
+        _handler.execute(value);
     }
 }
@@ -16,9 +16,9 @@
 package com.ilyagubarev.algorithms.adt.utils;
 
 /**
- * Simple statistics provider.
+ * Simple thread-safe statistics provider.
  *
- * @version 1.03, 14 September 2013
+ * @version 1.04, 03 October 2013
  * @since 02 September 2013
  * @author Ilya Gubarev
  */
@@ -86,7 +86,7 @@ public final class Registry {
      * @return average registered value.
      * @throws IllegalStateException if the registry is empty.
      */
-    public double getAverageValue() {
+    public synchronized double getAverageValue() {
         throwExceptionIfEmpty();
         return (_total - _basis) / _count;
     }
@@ -96,7 +96,7 @@ public final class Registry {
      *
      * @return maximal total value.
      */
-    public double getMax() {
+    public synchronized double getMax() {
         return _maxTotal;
     }
 
@@ -106,7 +106,7 @@ public final class Registry {
      * @return maximal registered value.
      * @throws IllegalStateException if the registry is empty.
      */
-    public double getMaxValue() {
+    public synchronized double getMaxValue() {
         throwExceptionIfEmpty();
         return _maxValue;
     }
@@ -116,7 +116,7 @@ public final class Registry {
      *
      * @return minimal total value.
      */
-    public double getMin() {
+    public synchronized double getMin() {
         return _minTotal;
     }
 
@@ -126,7 +126,7 @@ public final class Registry {
      * @return minimal registered value.
      * @throws IllegalStateException if the registry is empty.
      */
-    public double getMinValue() {
+    public synchronized double getMinValue() {
         throwExceptionIfEmpty();
         return _minValue;
     }
@@ -136,7 +136,7 @@ public final class Registry {
      *
      * @return total value.
      */
-    public double getTotal() {
+    public synchronized double getTotal() {
         return _total;
     }
 
@@ -145,7 +145,7 @@ public final class Registry {
      * 
      * @return registered values count.
      */
-    public long getValuesCount() {
+    public synchronized long getValuesCount() {
         return _count;
     }
 
@@ -163,7 +163,7 @@ public final class Registry {
      *
      * @param value a numeric value.
      */
-    public void register(double value) {
+    public synchronized void register(double value) {
         if (isEmpty()) {
             _maxValue = value;
             _minValue = value;
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.analysis.sorting;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.analysis.TestStatus;
+import com.ilyagubarev.algorithms.sorting.methods.AbstractSorter;
+import com.ilyagubarev.algorithms.sorting.methods.Sorter;
+
+/**
+ * Empirical small subarrays cutoff calibrator. Each candidate cutoff is
+ * tested with several sorting tester runs on the current machine after a
+ * warm-up run, the one with the least best time is chosen.
+ *
+ * @version 1.01, 12 October 2013
+ * @since 12 October 2013
+ * @author Ilya Gubarev
+ */
+public final class CutoffCalibrator {
+
+    public static final int DEFAULT_ROUNDS = 5;
+
+    private static final int[] DEFAULT_CUTOFFS = {0, 4, 8, 12, 16, 24, 32,
+            48, 64};
+    private static final String SORTER_ID = "calibrated";
+    private static final String TASK_ID = "calibration";
+
+    /**
+     * Chooses the fastest of default candidate cutoffs for specified
+     * sorter and sets it.
+     *
+     * @param sorter a sorter to be calibrated.
+     * @param task calibration task specification.
+     * @return chosen cutoff.
+     * @throws IllegalStateException if all candidates failed the task.
+     *
+     * @see AbstractSorter
+     * @see SortTask
+     */
+    public static int calibrate(AbstractSorter sorter, SortTask task) {
+        return calibrate(sorter, task, DEFAULT_CUTOFFS, DEFAULT_ROUNDS);
+    }
+
+    /**
+     * Chooses the fastest of candidate cutoffs for specified sorter and
+     * sets it.
+     *
+     * @param sorter a sorter to be calibrated.
+     * @param task calibration task specification.
+     * @param cutoffs candidate cutoffs.
+     * @param rounds test runs count per candidate.
+     * @return chosen cutoff.
+     * @throws IllegalArgumentException if candidates or rounds are illegal.
+     * @throws IllegalStateException if all candidates failed the task.
+     *
+     * @see AbstractSorter
+     * @see SortTask
+     */
+    public static int calibrate(AbstractSorter sorter, SortTask task,
+            int[] cutoffs, int rounds) {
+        if (sorter == null) {
+            throw new NullPointerException("sorter is null");
+        }
+        if (task == null) {
+            throw new NullPointerException("task is null");
+        }
+        if (cutoffs.length == 0) {
+            throw new IllegalArgumentException("no cutoffs specified");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("rounds count is not positive");
+        }
+        Map<String, SortTask> tasks = new HashMap<String, SortTask>();
+        tasks.put(TASK_ID, task);
+        Map<String, Sorter> sorters = new HashMap<String, Sorter>();
+        sorters.put(SORTER_ID, sorter);
+        int original = sorter.getCutoff();
+        Integer result = null;
+        long resultTime = Long.MAX_VALUE;
+        SortTester.run(tasks, sorters);
+        for (int cutoff : cutoffs) {
+            sorter.setCutoff(cutoff);
+            long time = measure(tasks, sorters, rounds);
+            if (time < resultTime) {
+                result = cutoff;
+                resultTime = time;
+            }
+        }
+        if (result == null) {
+            sorter.setCutoff(original);
+            throw new IllegalStateException("all cutoffs failed the task");
+        }
+        sorter.setCutoff(result);
+        return result;
+    }
+
+    private static long measure(Map<String, SortTask> tasks,
+            Map<String, Sorter> sorters, int rounds) {
+        SortReportId id = new SortReportId(SORTER_ID, TASK_ID);
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; ++i) {
+            SortReport report = SortTester.run(tasks, sorters).get(id);
+            if (report.getStatus() != TestStatus.PASSED) {
+                return Long.MAX_VALUE;
+            }
+            result = Math.min(result, report.getTime());
+        }
+        return result;
+    }
+
+    private CutoffCalibrator() {
+
+    }
+}
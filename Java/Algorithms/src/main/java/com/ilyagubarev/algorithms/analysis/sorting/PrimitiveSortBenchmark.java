@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.analysis.sorting;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.SorterSandbox;
+import com.ilyagubarev.algorithms.sorting.primitives.PrimitiveSorter;
+
+/**
+ * Wall-clock benchmark of primitive sorting methods. Each sorter sorts
+ * copies of the same sample (uniformly random by default) without
+ * operation counting after a warm-up run, the best time of several rounds
+ * is taken since comparison counts do not reflect costs like branch
+ * mispredictions.
+ *
+ * @version 1.02, 27 October 2013
+ * @since 15 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveSortBenchmark {
+
+    public static final int DEFAULT_ROUNDS = 5;
+
+    /**
+     * Measures primitive sorters on a uniformly random integer sample.
+     *
+     * @param sorters primitive sorting method implementations.
+     * @param size sample size.
+     * @param rounds measured runs count per sorter.
+     * @return best sorting times in milliseconds by sorter IDs.
+     * @throws IllegalArgumentException if size or rounds are illegal.
+     * @throws IllegalStateException if a sorter fails to sort the sample.
+     *
+     * @see PrimitiveSorter
+     */
+    public static Map<String, Long> run(Map<String, PrimitiveSorter> sorters,
+            int size, int rounds) {
+        return run(sorters, size, rounds, SampleType.RANDOM);
+    }
+
+    /**
+     * Measures primitive sorters on an integer sample of specified type.
+     *
+     * @param sorters primitive sorting method implementations.
+     * @param size sample size.
+     * @param rounds measured runs count per sorter.
+     * @param sampleType sample type.
+     * @return best sorting times in milliseconds by sorter IDs.
+     * @throws IllegalArgumentException if size, rounds or sample type are
+     * illegal.
+     * @throws IllegalStateException if a sorter fails to sort the sample.
+     *
+     * @see PrimitiveSorter
+     * @see SampleType
+     */
+    public static Map<String, Long> run(Map<String, PrimitiveSorter> sorters,
+            int size, int rounds, SampleType sampleType) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size is negative");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("rounds count is not positive");
+        }
+        int[] sample = createSample(size, sampleType);
+        int[] expected = sample.clone();
+        Arrays.sort(expected);
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (String sorterId : sorters.keySet()) {
+            PrimitiveSorter sorter = sorters.get(sorterId);
+            measure(sorter, sample, expected);
+            long time = Long.MAX_VALUE;
+            for (int i = 0; i < rounds; ++i) {
+                time = Math.min(time, measure(sorter, sample, expected));
+            }
+            result.put(sorterId, time);
+        }
+        return result;
+    }
+
+    private static long measure(PrimitiveSorter sorter, int[] sample,
+            int[] expected) {
+        int[] target = sample.clone();
+        Stopwatch stopwatch = new Stopwatch();
+        SorterSandbox.run(sorter, target, null, null, stopwatch);
+        if (!Arrays.equals(target, expected)) {
+            throw new IllegalStateException(String.format(
+                    "%s failed to sort the sample", sorter.getInfo()));
+        }
+        return stopwatch.getElapsedTime();
+    }
+
+    private static int[] createSample(int size, SampleType sampleType) {
+        int[] result = new int[size];
+        Random random = new Random();
+        for (int i = 0; i < size; ++i) {
+            switch (sampleType) {
+                case RANDOM:
+                    result[i] = random.nextInt();
+                    break;
+                case SORTED:
+                case NEARLY_SORTED:
+                    result[i] = i;
+                    break;
+                case REVERSED:
+                    result[i] = size - i;
+                    break;
+                case ORGAN_PIPE:
+                    result[i] = Math.min(i, size - i);
+                    break;
+                case DUPLICATES:
+                    result[i] = random.nextInt(
+                            SortTester.DUPLICATES_DISTINCT_VALUES);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format(
+                            "%s samples are not supported", sampleType));
+            }
+        }
+        if (sampleType == SampleType.NEARLY_SORTED && size > 0) {
+            int exchanges = size / SortTester.NEARLY_SORTED_EXCHANGE_RATE;
+            for (int i = 0; i < exchanges; ++i) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                int buffer = result[first];
+                result[first] = result[second];
+                result[second] = buffer;
+            }
+        }
+        return result;
+    }
+
+    private PrimitiveSortBenchmark() {
+
+    }
+}
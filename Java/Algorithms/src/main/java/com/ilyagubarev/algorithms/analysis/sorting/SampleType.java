@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.analysis.sorting;
+
+/**
+ * Sorting test sample types.
+ *
+ * @version 1.04, 27 October 2013
+ * @since 04 October 2013
+ * @author Ilya Gubarev
+ */
+public enum SampleType {
+
+    /**
+     * Uniformly distributed random integers.
+     */
+    RANDOM("random"),
+
+    /**
+     * Integers in ascending order.
+     */
+    SORTED("sorted"),
+
+    /**
+     * Integers in ascending order with a few random items exchanged.
+     */
+    NEARLY_SORTED("nearly sorted"),
+
+    /**
+     * Integers in descending order.
+     */
+    REVERSED("reversed"),
+
+    /**
+     * Integers in ascending order up to the middle and in descending order
+     * after it.
+     */
+    ORGAN_PIPE("organ pipe"),
+
+    /**
+     * Random integers with a few distinct values.
+     */
+    DUPLICATES("duplicates"),
+
+    /**
+     * Random URL-like strings sharing a few common prefixes.
+     */
+    STRINGS("strings");
+
+    private final String _text;
+
+    private SampleType(String text) {
+        _text = text;
+    }
+
+    /**
+     * Gets sample type text.
+     *
+     * @return sample type text.
+     */
+    public String getText() {
+        return _text;
+    }
+
+    @Override
+    public String toString() {
+        return _text;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.analysis.sorting;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ilyagubarev.algorithms.analysis.TestStatus;
+
+/**
+ * Sorting methods cost model fitted to historical test reports. For every
+ * sorter and sample type time and comparisons are fitted by least squares
+ * to "a * N log N + b * N" curves, auxillary memory peak is bounded by the
+ * max observed amount per item. Costs of sample types having no reports of
+ * their own are predicted as the worst of the known sample types.
+ *
+ * @see SortHistory
+ *
+ * @version 1.01, 21 October 2013
+ * @since 21 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SortCostModel {
+
+    private static final double SINGULARITY = 1e-9;
+
+    private final Map<String, Map<SampleType, Costs>> _costs;
+
+    /**
+     * Creates a new instance of SortCostModel fitted to passed reports of
+     * specified history.
+     *
+     * @param history historical test reports.
+     *
+     * @see SortHistory
+     */
+    public SortCostModel(SortHistory history) {
+        if (history == null) {
+            throw new NullPointerException("history is null");
+        }
+        _costs = new HashMap<String, Map<SampleType, Costs>>();
+        for (String sorterId : history.getSorterIds()) {
+            Map<SampleType, Costs> costs = fit(history.getReports(sorterId));
+            if (!costs.isEmpty()) {
+                _costs.put(sorterId, costs);
+            }
+        }
+    }
+
+    /**
+     * Predicts time of specified task for a sorter.
+     *
+     * @param sorterId sorter identifier.
+     * @param task sorting task specification.
+     * @return time in milliseconds or null if the sorter is unknown.
+     *
+     * @see SortTask
+     */
+    public Double predictTime(String sorterId, SortTask task) {
+        return predict(sorterId, task, Cost.TIME);
+    }
+
+    /**
+     * Predicts comparisons of specified task for a sorter.
+     *
+     * @param sorterId sorter identifier.
+     * @param task sorting task specification.
+     * @return comparisons or null if the sorter is unknown.
+     *
+     * @see SortTask
+     */
+    public Double predictComparisons(String sorterId, SortTask task) {
+        return predict(sorterId, task, Cost.COMPARISONS);
+    }
+
+    /**
+     * Predicts auxillary memory allocation peak of specified task for
+     * a sorter.
+     *
+     * @param sorterId sorter identifier.
+     * @param task sorting task specification.
+     * @return allocation peak or null if the sorter is unknown.
+     *
+     * @see SortTask
+     */
+    public Double predictAuxMemory(String sorterId, SortTask task) {
+        return predict(sorterId, task, Cost.AUX_MEMORY);
+    }
+
+    /**
+     * Chooses the sorter of the least predicted time within time and
+     * auxillary memory limits of specified task.
+     *
+     * @param task sorting task specification.
+     * @param sorterIds identifiers of candidate sorters.
+     * @return chosen sorter identifier or null if no candidate is known
+     * to fit the limits.
+     *
+     * @see SortTask
+     */
+    public String selectFastest(SortTask task, Set<String> sorterIds) {
+        if (task == null) {
+            throw new NullPointerException("task is null");
+        }
+        String result = null;
+        double resultTime = Double.MAX_VALUE;
+        for (String sorterId : sorterIds) {
+            Double time = predictTime(sorterId, task);
+            if (time == null || time >= resultTime) {
+                continue;
+            }
+            if (task.getTimeLimit() != null && time > task.getTimeLimit()) {
+                continue;
+            }
+            if (task.getAuxMemoryLimit() != null && predictAuxMemory(sorterId,
+                    task) > task.getAuxMemoryLimit()) {
+                continue;
+            }
+            result = sorterId;
+            resultTime = time;
+        }
+        return result;
+    }
+
+    /**
+     * Chooses the sorter of the least predicted time among all known ones
+     * within time and auxillary memory limits of specified task.
+     *
+     * @param task sorting task specification.
+     * @return chosen sorter identifier or null if no sorter is known to fit
+     * the limits.
+     *
+     * @see SortTask
+     */
+    public String selectFastest(SortTask task) {
+        return selectFastest(task, _costs.keySet());
+    }
+
+    private Double predict(String sorterId, SortTask task, Cost cost) {
+        Map<SampleType, Costs> costs = _costs.get(sorterId);
+        if (costs == null) {
+            return null;
+        }
+        int n = task.getItemsCount();
+        Costs typed = costs.get(task.getSampleType());
+        if (typed != null) {
+            return typed.predict(cost, n);
+        }
+        double result = 0;
+        for (Costs known : costs.values()) {
+            result = Math.max(result, known.predict(cost, n));
+        }
+        return result;
+    }
+
+    private static Map<SampleType, Costs> fit(List<SortReport> reports) {
+        Map<SampleType, Costs> result = new HashMap<SampleType, Costs>();
+        Map<SampleType, Samples> samples = new HashMap<SampleType, Samples>();
+        for (SortReport report : reports) {
+            if (report.getStatus() != TestStatus.PASSED) {
+                continue;
+            }
+            SampleType type = report.getTask().getSampleType();
+            Samples typed = samples.get(type);
+            if (typed == null) {
+                typed = new Samples();
+                samples.put(type, typed);
+            }
+            typed.add(report);
+        }
+        for (SampleType type : samples.keySet()) {
+            if (!samples.get(type).isEmpty()) {
+                result.put(type, samples.get(type).fit());
+            }
+        }
+        return result;
+    }
+
+    private static double log2(double n) {
+        return n > 1 ? Math.log(n) / Math.log(2) : 0;
+    }
+
+    private static enum Cost {
+
+        TIME,
+        COMPARISONS,
+        AUX_MEMORY
+    }
+
+    private static final class Costs {
+
+        private final Curve _time;
+        private final Curve _comparisons;
+        private final double _auxPerItem;
+
+        Costs(Curve time, Curve comparisons, double auxPerItem) {
+            _time = time;
+            _comparisons = comparisons;
+            _auxPerItem = auxPerItem;
+        }
+
+        double predict(Cost cost, int n) {
+            switch (cost) {
+                case TIME:
+                    return _time.predict(n);
+                case COMPARISONS:
+                    return _comparisons.predict(n);
+                default:
+                    return _auxPerItem * n;
+            }
+        }
+    }
+
+    private static final class Curve {
+
+        private final double _linearithmic;
+        private final double _linear;
+
+        Curve(double linearithmic, double linear) {
+            _linearithmic = linearithmic;
+            _linear = linear;
+        }
+
+        double predict(int n) {
+            return Math.max(0, _linearithmic * n * log2(n) + _linear * n);
+        }
+    }
+
+    private static final class Samples {
+
+        private final LeastSquares _time = new LeastSquares();
+        private final LeastSquares _comparisons = new LeastSquares();
+        private double _auxPerItem;
+        private boolean _empty = true;
+
+        void add(SortReport report) {
+            double n = report.getTask().getItemsCount();
+            if (n < 1) {
+                return;
+            }
+            _time.add(n, report.getTime());
+            _comparisons.add(n, report.getComparisons());
+            _auxPerItem = Math.max(_auxPerItem,
+                    report.getAuxAllocationPeak() / n);
+            _empty = false;
+        }
+
+        boolean isEmpty() {
+            return _empty;
+        }
+
+        Costs fit() {
+            return new Costs(_time.fit(), _comparisons.fit(), _auxPerItem);
+        }
+    }
+
+    private static final class LeastSquares {
+
+        private double _xx;
+        private double _xy;
+        private double _yy;
+        private double _xc;
+        private double _yc;
+
+        void add(double n, double cost) {
+            double x = n * log2(n);
+            double y = n;
+            _xx += x * x;
+            _xy += x * y;
+            _yy += y * y;
+            _xc += x * cost;
+            _yc += y * cost;
+        }
+
+        Curve fit() {
+            double determinant = _xx * _yy - _xy * _xy;
+            if (_yy == 0) {
+                return new Curve(0, 0);
+            }
+            if (determinant > SINGULARITY * _xx * _yy) {
+                double linearithmic = (_xc * _yy - _yc * _xy) / determinant;
+                double linear = (_xx * _yc - _xy * _xc) / determinant;
+                if (linearithmic >= 0 && linear >= 0) {
+                    return new Curve(linearithmic, linear);
+                }
+                if (linearithmic < 0) {
+                    return new Curve(0, Math.max(0, _yc / _yy));
+                }
+            }
+            if (_xx == 0) {
+                return new Curve(0, Math.max(0, _yc / _yy));
+            }
+            return new Curve(Math.max(0, _xc / _xx), 0);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.analysis.sorting;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Historical storage of sorting method test reports. Reports are grouped
+ * by sorter identifiers and may be saved to and loaded from a file, so
+ * results of separate test runs are accumulated.
+ *
+ * @see Serializable
+ * @see SortReport
+ *
+ * @version 1.03, 27 October 2013
+ * @since 21 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SortHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, List<SortReport>> _reports;
+
+    /**
+     * Creates a new empty instance of SortHistory.
+     */
+    public SortHistory() {
+        _reports = new LinkedHashMap<String, List<SortReport>>();
+    }
+
+    /**
+     * Loads a history from specified file.
+     *
+     * @param file a file the history was saved to.
+     * @return loaded history.
+     * @throws IOException if the file can not be read.
+     */
+    public static SortHistory load(File file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("file is null");
+        }
+        FileInputStream input = new FileInputStream(file);
+        try {
+            ObjectInputStream stream = new ObjectInputStream(input);
+            return (SortHistory) stream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("file is not a sort history", e);
+        } catch (ClassCastException e) {
+            throw new IOException("file is not a sort history", e);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Adds test reports to the history.
+     *
+     * @param reports test reports produced by sorting method tester.
+     *
+     * @see SortReport
+     * @see SortReportId
+     * @see SortTester
+     */
+    public synchronized void add(Map<SortReportId, SortReport> reports) {
+        for (SortReportId id : reports.keySet()) {
+            add(id.getSorterId(), reports.get(id));
+        }
+    }
+
+    /**
+     * Adds a test report to the history.
+     *
+     * @param sorterId sorter identifier.
+     * @param report test report.
+     *
+     * @see SortReport
+     */
+    public synchronized void add(String sorterId, SortReport report) {
+        if (sorterId == null) {
+            throw new NullPointerException("sorter identifier is null");
+        }
+        if (report == null) {
+            throw new NullPointerException("report is null");
+        }
+        List<SortReport> reports = _reports.get(sorterId);
+        if (reports == null) {
+            reports = new ArrayList<SortReport>();
+            _reports.put(sorterId, reports);
+        }
+        reports.add(report);
+    }
+
+    /**
+     * Gets identifiers of sorters having reports.
+     *
+     * @return sorter identifiers.
+     */
+    public synchronized Set<String> getSorterIds() {
+        return Collections.unmodifiableSet(
+                new LinkedHashSet<String>(_reports.keySet()));
+    }
+
+    /**
+     * Gets reports of specified sorter.
+     *
+     * @param sorterId sorter identifier.
+     * @return reports in order of addition.
+     *
+     * @see SortReport
+     */
+    public synchronized List<SortReport> getReports(String sorterId) {
+        List<SortReport> reports = _reports.get(sorterId);
+        if (reports == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(
+                new ArrayList<SortReport>(reports));
+    }
+
+    /**
+     * Saves the history to specified file.
+     *
+     * @param file a file to save the history to.
+     * @throws IOException if the file can not be written.
+     */
+    public synchronized void save(File file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("file is null");
+        }
+        FileOutputStream output = new FileOutputStream(file);
+        try {
+            ObjectOutputStream stream = new ObjectOutputStream(output);
+            stream.writeObject(this);
+            stream.flush();
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -16,6 +16,9 @@
 package com.ilyagubarev.algorithms.analysis.sorting;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.ilyagubarev.algorithms.analysis.TestStatus;
 
@@ -24,17 +27,20 @@ import com.ilyagubarev.algorithms.analysis.TestStatus;
  *
  * @see Serializable
  *
- * @version 1.02, 30 September 2013
+ * @version 1.05, 27 October 2013
  * @since 21 September 2013
  * @author Ilya Gubarev
  */
 public final class SortReport implements Serializable {
 
+    private static final long serialVersionUID = -7903882572009056208L;
+
     private final TestStatus _status;
     private final String _statusInfo;
     private final SortTask _task;
     private final String _sorterInfo;
     private final long _comparisons;
+    private final long _inspections;
     private final long _hashings;
     private final long _tests;
     private final long _reads;
@@ -45,6 +51,7 @@ public final class SortReport implements Serializable {
     private final long _auxWrites;
     private final long _recursionPeak;
     private final long _time;
+    private final Map<String, Double> _statistics;
 
     /**
      * Creates a new instance of SortReport.
@@ -54,6 +61,7 @@ public final class SortReport implements Serializable {
      * @param task test task specification.
      * @param sorterInfo sorting method description.
      * @param comparisons item comparison operations.
+     * @param inspections item character inspection operations.
      * @param hashings item hashing operations.
      * @param tests item test operations.
      * @param reads array read operations.
@@ -64,19 +72,22 @@ public final class SortReport implements Serializable {
      * @param auxWrites auxillary memory write operations.
      * @param recursionPeak recursive call peak.
      * @param time consumed time in milliseconds.
+     * @param statistics sorting method specific statistics.
      *
      * @see SortTask
      * @see TestStatus
      */
     SortReport(TestStatus status, String statusInfo, SortTask task,
-            String sorterInfo, long comparisons, long hashings, long tests,
-            long reads, long writes, long auxAllocs, long auxAllocPeak,
-            long auxReads, long auxWrites, long recursionPeak, long time) {
+            String sorterInfo, long comparisons, long inspections,
+            long hashings, long tests, long reads, long writes,
+            long auxAllocs, long auxAllocPeak, long auxReads, long auxWrites,
+            long recursionPeak, long time, Map<String, Double> statistics) {
         _status = status;
         _statusInfo = statusInfo;
         _task = task;
         _sorterInfo = sorterInfo;
         _comparisons = comparisons;
+        _inspections = inspections;
         _hashings = hashings;
         _tests = tests;
         _reads = reads;
@@ -87,6 +98,7 @@ public final class SortReport implements Serializable {
         _auxWrites = auxWrites;
         _recursionPeak = recursionPeak;
         _time = time;
+        _statistics = new LinkedHashMap<String, Double>(statistics);
     }
 
     /**
@@ -138,6 +150,15 @@ public final class SortReport implements Serializable {
         return _comparisons;
     }
 
+    /**
+     * Gets item character inspection operations count.
+     *
+     * @return character inspection operations.
+     */
+    public long getInspections() {
+        return _inspections;
+    }
+
     /**
      * Gets item hashing operations count.
      *
@@ -228,6 +249,15 @@ public final class SortReport implements Serializable {
         return _time;
     }
 
+    /**
+     * Gets sorting method specific statistics.
+     *
+     * @return statistic values by names.
+     */
+    public Map<String, Double> getStatistics() {
+        return Collections.unmodifiableMap(_statistics);
+    }
+
     @Override
     public String toString() {
         StringBuilder state = new StringBuilder();
@@ -236,6 +266,7 @@ public final class SortReport implements Serializable {
         state.append(String.format("spec: %s, ", _task));
         state.append(String.format("sorter: %s, ", _sorterInfo));
         state.append(String.format("comparisons: %d, ", _comparisons));
+        state.append(String.format("inspections: %d, ", _inspections));
         state.append(String.format("hashings: %d, ", _hashings));
         state.append(String.format("tests: %d, ", _tests));
         state.append(String.format("reads: %d, ", _reads));
@@ -246,6 +277,7 @@ public final class SortReport implements Serializable {
         state.append(String.format("aux writes: %d, ", _auxWrites));
         state.append(String.format("recursion peak: %d, ", _recursionPeak));
         state.append(String.format("time: %d, ", _time));
+        state.append(String.format("statistics: %s, ", _statistics));
         return String.format("[sort report: {%s}]", state);
     }
 }
@@ -22,12 +22,14 @@ import java.io.Serializable;
  *
  * @see Serializable
  *
- * @version 1.02, 30 September 2013
+ * @version 1.03, 27 October 2013
  * @since 23 September 2013
  * @author Ilya Gubarev
  */
 public final class SortReportId implements Serializable {
 
+    private static final long serialVersionUID = 8566857390702879996L;
+
     private final String _sorterId;
     private final String _taskId;
 
@@ -22,19 +22,22 @@ import java.io.Serializable;
  *
  * @see Serializable
  *
- * @version 1.03, 30 September 2013
+ * @version 1.05, 27 October 2013
  * @since 14 September 2013
  * @author Ilya Gubarev
  */
 public final class SortTask implements Serializable {
 
+    private static final long serialVersionUID = 6897367201303350181L;
+
     private final int _itemsCount;
     private final Integer _auxMemoryLimit;
     private final Integer _recursionLimit;
     private final Integer _timeLimit;
+    private final SampleType _sampleType;
 
     /**
-     * Creates a new instance of SortTask.
+     * Creates a new instance of SortTask with random sample.
      *
      * @param itemsCount size of an array to be sorted.
      * @param auxMemoryLimit auxillary memory usage limit (optional).
@@ -44,6 +47,25 @@ public final class SortTask implements Serializable {
      */
     public SortTask(int itemsCount, Integer auxMemoryLimit,
             Integer recursionDepthLimit, Integer timeLimit) {
+        this(itemsCount, auxMemoryLimit, recursionDepthLimit, timeLimit,
+                SampleType.RANDOM);
+    }
+
+    /**
+     * Creates a new instance of SortTask.
+     *
+     * @param itemsCount size of an array to be sorted.
+     * @param auxMemoryLimit auxillary memory usage limit (optional).
+     * @param recursionDepthLimit recursive call stack size limit (optional).
+     * @param timeLimit time limit in milliseconds (optional).
+     * @param sampleType type of a sample to be sorted.
+     * @throws IllegalArgumentException if specified limits are illegal.
+     *
+     * @see SampleType
+     */
+    public SortTask(int itemsCount, Integer auxMemoryLimit,
+            Integer recursionDepthLimit, Integer timeLimit,
+            SampleType sampleType) {
         if (itemsCount < 0) {
             throw new IllegalArgumentException("items count is negative");
         }
@@ -56,10 +78,14 @@ public final class SortTask implements Serializable {
         if (timeLimit != null && timeLimit < 0) {
             throw new IllegalArgumentException("time limit is negative");
         }
+        if (sampleType == null) {
+            throw new NullPointerException("sample type is null");
+        }
         _itemsCount = itemsCount;
         _auxMemoryLimit = auxMemoryLimit;
         _recursionLimit = recursionDepthLimit;
         _timeLimit = timeLimit;
+        _sampleType = sampleType;
     }
 
     /**
@@ -98,13 +124,25 @@ public final class SortTask implements Serializable {
         return _timeLimit;
     }
 
+    /**
+     * Gets type of a sample to be sorted.
+     *
+     * @return sample type.
+     *
+     * @see SampleType
+     */
+    public SampleType getSampleType() {
+        return _sampleType;
+    }
+
     @Override
     public String toString() {
         StringBuilder state = new StringBuilder();
         state.append(String.format("items count: %s, ", _itemsCount));
         state.append(String.format("aux memory limit: %s, ", _auxMemoryLimit));
         state.append(String.format("recursion limit: %s, ", _recursionLimit));
-        state.append(String.format("time limit: %s", _timeLimit));
+        state.append(String.format("time limit: %s, ", _timeLimit));
+        state.append(String.format("sample type: %s", _sampleType));
         return String.format("[sort task: {%s}]", state);
     }
 }
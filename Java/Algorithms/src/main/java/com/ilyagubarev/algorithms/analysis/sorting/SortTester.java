@@ -15,6 +15,8 @@
  */
 package com.ilyagubarev.algorithms.analysis.sorting;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Random;
@@ -29,17 +31,27 @@ import com.ilyagubarev.algorithms.adt.utils.Registry;
 import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
 import com.ilyagubarev.algorithms.analysis.TestStatus;
 import com.ilyagubarev.algorithms.sorting.SorterSandbox;
+import com.ilyagubarev.algorithms.sorting.methods.BatchSorter;
+import com.ilyagubarev.algorithms.sorting.methods.FootprintSorter;
+import com.ilyagubarev.algorithms.sorting.methods.ReportingSorter;
 import com.ilyagubarev.algorithms.sorting.methods.Sorter;
 
 /**
  * Sorting method tester.
  *
- * @version 1.02, 30 September 2013
+ * @version 1.12, 27 October 2013
  * @since 13 September 2013
  * @author Ilya Gubarev
  */
 public final class SortTester {
 
+    static final int DUPLICATES_DISTINCT_VALUES = 10;
+    static final int NEARLY_SORTED_EXCHANGE_RATE = 100;
+    private static final String[] STRINGS_PREFIXES = {"http://example.com/",
+            "http://example.com/items/", "https://example.org/"};
+    private static final int STRINGS_MAX_SEGMENTS = 4;
+    private static final int STRINGS_MAX_SEGMENT_LENGTH = 8;
+
     /**
      * Performs series of sorting method tests.
      *
@@ -58,87 +70,167 @@ public final class SortTester {
         result = new HashMap<SortReportId, SortReport>();
         for (String taskId : tasks.keySet()) {
             final SortTask task = tasks.get(taskId);
-            int itemsCount = task.getItemsCount();
-            Comparable[] sample = createSample(itemsCount);
-            Registry.OnRegisterHandler auxMemoryHandler = createRegistryHandler(task.getAuxMemoryLimit(), "auxillary memory limit exceeded");
-            Registry.OnRegisterHandler recursionHandler = createRegistryHandler(task.getRecursionLimit(), "recursion depth limit exceeded");
-            Stopwatch.OnCheckHandler timeHandler = createStopwatchHandler(task.getTimeLimit(), "time limit exceeded");
+            Comparable[] sample = createSample(task);
             for (String sorterId : sorters.keySet()) {
-                Sorter sorter = sorters.get(sorterId);
-                Counter comparisons = new Counter();
-                Counter hashings = new Counter();
-                Counter tests = new Counter();
-                ItemModelFactory itemFactory = new ItemModelFactory(
-                        new Registry(0), comparisons, hashings, tests);
-                Counter reads = new Counter();
-                Counter writes = new Counter();
-                ArrayModelFactory factory = new ArrayModelFactory(
-                        new Registry(0), reads, writes);
-                ArrayModel<ItemModel> target = factory.create(sample.length);
-                for (int i = 0; i < sample.length; i++) {
-                    target.write(i, itemFactory.create(sample[i]));
-                }
-                Registry auxAllocs = new Registry(0, auxMemoryHandler);
-                Counter auxReads = new Counter();
-                Counter auxWrites = new Counter();
-                ArrayModelFactory arrayFactory = new ArrayModelFactory(
-                        auxAllocs, reads, writes);
-                NodeModelFactory nodeFactory = new NodeModelFactory(auxAllocs,
-                        reads, writes, auxReads, auxWrites);
-                Registry recursions = new Registry(0, recursionHandler);
-                Stopwatch stopwatch = new Stopwatch(timeHandler);                
-                Exception exception = null;
-                try {
-                    SorterSandbox.run(sorter, target, null, arrayFactory,
-                            nodeFactory, recursions, stopwatch);
-                    ItemModel item = target.read(0);
-                    ItemModel nextItem;
-                    for (int i = 1; i < target.getSize(); i++) {
-                        nextItem = target.read(i);
-                        if (nextItem.compareTo(item) < 0) {
-                            exception = new Exception("target array is not sorted");
-                            break;
-                        }
-                        item = nextItem;
-                    }
-                } catch (Exception e) {
-                    exception = e;
-                }
-                SortReport report;
                 SortReportId id = new SortReportId(sorterId, taskId);
-                String sorterInfo = sorter.getInfo();
-                if (exception != null) {
-                    String statusInfo = exception.getMessage();
-                    report = new SortReport(TestStatus.FAILED, statusInfo, task,
-                            sorterInfo, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
-                } else {
-                    report = new SortReport(TestStatus.PASSED, "target array is sorted", task,
-                            sorterInfo, comparisons.getValue(),
-                            hashings.getValue(), tests.getValue(),
-                            reads.getValue() - sample.length, writes.getValue() - sample.length,
-                            auxAllocs.getValuesCount(),
-                            (long) auxAllocs.getMax(),
-                            auxReads.getValue(), auxWrites.getValue(),
-                            (long) recursions.getMax(),
-                            stopwatch.getElapsedTime());
+                result.put(id, test(task, sample, sorters.get(sorterId),
+                        null));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs a batch sorting method test. Items of the task are split
+     * into segments by specified offsets and all the segments are sorted
+     * by a single run, so the report aggregates operations and time of all
+     * the segments.
+     *
+     * @param task test task specification.
+     * @param offsets non-decreasing offsets of segments starting with zero
+     * and ending with the task items count.
+     * @param sorter batch sorting method implementation.
+     * @return test report.
+     *
+     * @see BatchSorter
+     * @see SortReport
+     * @see SortTask
+     */
+    public static SortReport runBatch(SortTask task, int[] offsets,
+            BatchSorter sorter) {
+        if (offsets == null) {
+            throw new NullPointerException("offsets are null");
+        }
+        return test(task, createSample(task), sorter, offsets);
+    }
+
+    /**
+     * Selects sorting methods which declare an auxiliary memory footprint
+     * not exceeding the limit of the specified task. Methods which do not
+     * declare their footprint are excluded if the task limits auxiliary
+     * memory.
+     *
+     * @param sorters sorting method implementations.
+     * @param task test task specification.
+     * @return fitting sorting method implementations.
+     *
+     * @see FootprintSorter
+     * @see Sorter
+     * @see SortTask
+     */
+    public static Map<String, Sorter> selectFitting(Map<String, Sorter> sorters,
+            SortTask task) {
+        Integer limit = task.getAuxMemoryLimit();
+        if (limit == null) {
+            return sorters;
+        }
+        Map<String, Sorter> result = new LinkedHashMap<String, Sorter>();
+        for (String sorterId : sorters.keySet()) {
+            Sorter sorter = sorters.get(sorterId);
+            if (sorter instanceof FootprintSorter) {
+                long footprint = ((FootprintSorter) sorter).getAuxFootprint(
+                        task.getItemsCount());
+                if (footprint <= limit) {
+                    result.put(sorterId, sorter);
                 }
-                result.put(id, report);
             }
         }
         return result;
     }
 
+    private static SortReport test(SortTask task, Comparable<?>[] sample,
+            Sorter sorter, int[] offsets) {
+        Registry.OnRegisterHandler auxMemoryHandler = createRegistryHandler(task.getAuxMemoryLimit(), "auxillary memory limit exceeded");
+        Registry.OnRegisterHandler recursionHandler = createRegistryHandler(task.getRecursionLimit(), "recursion depth limit exceeded");
+        Stopwatch.OnCheckHandler timeHandler = createStopwatchHandler(task.getTimeLimit(), "time limit exceeded");
+        Counter comparisons = new Counter();
+        Counter hashings = new Counter();
+        Counter tests = new Counter();
+        Counter inspections = new Counter();
+        ItemModelFactory itemFactory = new ItemModelFactory(
+                new Registry(0), comparisons, hashings, tests,
+                inspections);
+        Counter reads = new Counter();
+        Counter writes = new Counter();
+        ArrayModelFactory factory = new ArrayModelFactory(
+                new Registry(0), reads, writes);
+        ArrayModel<ItemModel> target = factory.create(sample.length);
+        for (int i = 0; i < sample.length; i++) {
+            target.write(i, itemFactory.create(sample[i]));
+        }
+        Registry auxAllocs = new Registry(0, auxMemoryHandler);
+        Counter auxReads = new Counter();
+        Counter auxWrites = new Counter();
+        ArrayModelFactory arrayFactory = new ArrayModelFactory(
+                auxAllocs, reads, writes);
+        NodeModelFactory nodeFactory = new NodeModelFactory(auxAllocs,
+                reads, writes, auxReads, auxWrites);
+        Registry recursions = new Registry(0, recursionHandler);
+        Stopwatch stopwatch = new Stopwatch(timeHandler);                
+        Exception exception = null;
+        try {
+            if (offsets == null) {
+                SorterSandbox.run(sorter, target, null, arrayFactory,
+                        nodeFactory, recursions, stopwatch);
+            } else {
+                SorterSandbox.run((BatchSorter) sorter, target, offsets, null,
+                        arrayFactory, nodeFactory, recursions, stopwatch);
+            }
+            int segment = 0;
+            ItemModel item = target.read(0);
+            ItemModel nextItem;
+            for (int i = 1; i < target.getSize(); i++) {
+                nextItem = target.read(i);
+                while (offsets != null && offsets[segment + 1] <= i) {
+                    segment++;
+                }
+                if ((offsets == null || offsets[segment] != i)
+                        && nextItem.compareTo(item) < 0) {
+                    exception = new Exception("target array is not sorted");
+                    break;
+                }
+                item = nextItem;
+            }
+        } catch (Exception e) {
+            exception = e;
+        }
+        String sorterInfo = sorter.getInfo();
+        if (exception != null) {
+            String statusInfo = exception.getMessage();
+            return new SortReport(TestStatus.FAILED, statusInfo, task,
+                    sorterInfo, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                    Collections.<String, Double>emptyMap());
+        }
+        return new SortReport(TestStatus.PASSED, "target array is sorted", task,
+                sorterInfo, comparisons.getValue(),
+                inspections.getValue(), hashings.getValue(),
+                tests.getValue(),
+                reads.getValue() - sample.length, writes.getValue() - sample.length,
+                auxAllocs.getValuesCount(),
+                (long) auxAllocs.getMax(),
+                auxReads.getValue(), auxWrites.getValue(),
+                (long) recursions.getMax(),
+                stopwatch.getElapsedTime(), getStatistics(sorter));
+    }
+
+    private static Map<String, Double> getStatistics(Sorter sorter) {
+        if (sorter instanceof ReportingSorter) {
+            return ((ReportingSorter) sorter).getStatistics();
+        }
+        return Collections.emptyMap();
+    }
+
     private static Registry.OnRegisterHandler createRegistryHandler(
             Integer limit, final String message) {
         Registry.OnRegisterHandler result = null;
         if (limit != null) {
-            final int value = limit;
+            final int maxTotal = limit;
             result = new Registry.OnRegisterHandler() {
                 @Override
                 public void execute(double value, long count, double total,
                         double max, double min, double averageValue,
                         double maxValue, double minValue) {
-                    if (max > value) {
+                    if (max > maxTotal) {
                         throw new RuntimeException(message);
                     } 
                 }
@@ -164,15 +256,61 @@ public final class SortTester {
         return result;
     }
 
-    private static Comparable[] createSample(int size) {
+    private static Comparable[] createSample(SortTask task) {
+        int size = task.getItemsCount();
         Comparable[] result = new Comparable[size];
         Random random = new Random();
         for (int i = 0; i < size; ++i) {
-            result[i] = random.nextInt();
+            switch (task.getSampleType()) {
+                case SORTED:
+                case NEARLY_SORTED:
+                    result[i] = i;
+                    break;
+                case REVERSED:
+                    result[i] = size - i;
+                    break;
+                case ORGAN_PIPE:
+                    result[i] = Math.min(i, size - i);
+                    break;
+                case DUPLICATES:
+                    result[i] = random.nextInt(DUPLICATES_DISTINCT_VALUES);
+                    break;
+                case STRINGS:
+                    result[i] = createString(random);
+                    break;
+                default:
+                    result[i] = random.nextInt();
+                    break;
+            }
+        }
+        if (task.getSampleType() == SampleType.NEARLY_SORTED && size > 0) {
+            for (int i = 0; i < size / NEARLY_SORTED_EXCHANGE_RATE; ++i) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                Comparable<?> buffer = result[first];
+                result[first] = result[second];
+                result[second] = buffer;
+            }
         }
         return result;
     }
 
+    private static String createString(Random random) {
+        StringBuilder result = new StringBuilder();
+        result.append(STRINGS_PREFIXES[random.nextInt(STRINGS_PREFIXES.length)]);
+        int segments = random.nextInt(STRINGS_MAX_SEGMENTS) + 1;
+        for (int i = 0; i < segments; ++i) {
+            if (i > 0) {
+                result.append('/');
+            }
+            int length = random.nextInt(STRINGS_MAX_SEGMENT_LENGTH) + 1;
+            for (int j = 0; j < length; ++j) {
+                result.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return result.toString();
+    }
+
     private SortTester() {
 
     }
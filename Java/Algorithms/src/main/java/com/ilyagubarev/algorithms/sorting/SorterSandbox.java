@@ -17,17 +17,21 @@ package com.ilyagubarev.algorithms.sorting;
 
 import java.util.Comparator;
 
+import com.ilyagubarev.algorithms.sorting.methods.BatchSorter;
+import com.ilyagubarev.algorithms.sorting.methods.Selector;
 import com.ilyagubarev.algorithms.sorting.methods.Sorter;
+import com.ilyagubarev.algorithms.sorting.primitives.PrimitiveSorter;
 import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
 import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
 import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Counter;
 import com.ilyagubarev.algorithms.adt.utils.Registry;
 import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
 
 /**
  * Sorting method analyses sandbox.
  *
- * @version 1.03, 20 September 2013
+ * @version 1.06, 25 October 2013
  * @since 13 September 2013
  * @author Ilya Gubarev
  */
@@ -63,6 +67,130 @@ public final class SorterSandbox {
         stopwatch.stop();
     }
 
+    /**
+     * Runs specified batch sorter on every segment of the target at once.
+     *
+     * @param sorter batch sorting algorithm implementation.
+     * @param target target array of segments to be sorted.
+     * @param offsets offsets of the target segments.
+     * @param comparator an item comparator.
+     * @param arrayFactory item arrays allocator.
+     * @param nodeFactory item nodes provider.
+     * @param recursions registry of recursive calls
+     * @param stopwatch time consumption registry.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see BatchSorter
+     * @see Comparator
+     * @see NodeModelFactory
+     * @see Registry
+     * @see Stopwatch
+     */
+    public static <T> void run(BatchSorter sorter, ArrayModel<T> target,
+            int[] offsets, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        sorter.prepare(target.getSize());
+        stopwatch.start();
+        sorter.sort(target, offsets, comparator, arrayFactory, nodeFactory,
+                recursions, stopwatch);
+        stopwatch.stop();
+    }
+
+    /**
+     * Runs partial sorting of the target with specified selector.
+     *
+     * @param selector selection algorithm implementation.
+     * @param target target array to be partially sorted.
+     * @param k amount of the smallest items to be sorted.
+     * @param comparator an item comparator.
+     * @param arrayFactory item arrays allocator.
+     * @param nodeFactory item nodes provider.
+     * @param recursions registry of recursive calls
+     * @param stopwatch time consumption registry.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see Comparator
+     * @see NodeModelFactory
+     * @see Registry
+     * @see Selector
+     * @see Stopwatch
+     */
+    public static <T> void run(Selector selector, ArrayModel<T> target, int k,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        stopwatch.start();
+        selector.partialSort(target, k, comparator, arrayFactory, nodeFactory,
+                recursions, stopwatch);
+        stopwatch.stop();
+    }
+
+    /**
+     * Runs specified primitive sorter on the target.
+     *
+     * @param sorter primitive sorting algorithm implementation.
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     * @param stopwatch time consumption registry.
+     *
+     * @see Counter
+     * @see PrimitiveSorter
+     * @see Stopwatch
+     */
+    public static void run(PrimitiveSorter sorter, int[] target,
+            Counter comparisons, Counter writes, Stopwatch stopwatch) {
+        sorter.prepare(target.length);
+        stopwatch.start();
+        sorter.sort(target, comparisons, writes);
+        stopwatch.stop();
+    }
+
+    /**
+     * Runs specified primitive sorter on the target.
+     *
+     * @param sorter primitive sorting algorithm implementation.
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     * @param stopwatch time consumption registry.
+     *
+     * @see Counter
+     * @see PrimitiveSorter
+     * @see Stopwatch
+     */
+    public static void run(PrimitiveSorter sorter, long[] target,
+            Counter comparisons, Counter writes, Stopwatch stopwatch) {
+        sorter.prepare(target.length);
+        stopwatch.start();
+        sorter.sort(target, comparisons, writes);
+        stopwatch.stop();
+    }
+
+    /**
+     * Runs specified primitive sorter on the target.
+     *
+     * @param sorter primitive sorting algorithm implementation.
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     * @param stopwatch time consumption registry.
+     *
+     * @see Counter
+     * @see PrimitiveSorter
+     * @see Stopwatch
+     */
+    public static void run(PrimitiveSorter sorter, double[] target,
+            Counter comparisons, Counter writes, Stopwatch stopwatch) {
+        sorter.prepare(target.length);
+        stopwatch.start();
+        sorter.sort(target, comparisons, writes);
+        stopwatch.stop();
+    }
+
     private SorterSandbox() {
 
     }
@@ -19,6 +19,8 @@ import java.util.Comparator;
 
 import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
 import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.networks.SortingNetworks;
 import com.ilyagubarev.algorithms.utils.CommonHelper;
 
 /**
@@ -26,12 +28,56 @@ import com.ilyagubarev.algorithms.utils.CommonHelper;
  *
  * @see Sorter
  *
- * @version 1.06, 20 September 2013
+ * @version 1.11, 27 October 2013
  * @since 07 September 2013
  * @author Ilya Gubarev
  */
 public abstract class AbstractSorter implements Sorter {
 
+    private volatile int _cutoff;
+
+    /**
+     * Creates a new instance of AbstractSorter without small subarrays
+     * cutoff.
+     */
+    protected AbstractSorter() {
+        this(0);
+    }
+
+    /**
+     * Creates a new instance of AbstractSorter.
+     *
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if the cutoff is negative.
+     */
+    protected AbstractSorter(int cutoff) {
+        setCutoff(cutoff);
+    }
+
+    /**
+     * Gets max size of a subarray to be sorted with insertions by recursive
+     * sorting methods.
+     *
+     * @return small subarrays cutoff.
+     */
+    public final int getCutoff() {
+        return _cutoff;
+    }
+
+    /**
+     * Sets max size of a subarray to be sorted with insertions by recursive
+     * sorting methods. Zero cutoff disables the insertions.
+     *
+     * @param cutoff small subarrays cutoff.
+     * @throws IllegalArgumentException if the cutoff is negative.
+     */
+    public final void setCutoff(int cutoff) {
+        if (cutoff < 0) {
+            throw new IllegalArgumentException("cutoff is negative");
+        }
+        _cutoff = cutoff;
+    }
+
     @Override
     public void prepare(int n) {
         
@@ -95,6 +141,142 @@ public abstract class AbstractSorter implements Sorter {
         return false;
     }
 
+    /**
+     * Sorts specified subarray with insertions method (or a sorting network
+     * if the sorter uses them) if its size does not exceed the cutoff.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @return true if the subarray has been sorted.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> boolean sortSmall(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last) {
+        if (last - first >= _cutoff) {
+            return false;
+        }
+        if (last - first < SortingNetworks.MAX_SIZE && useNetworks()) {
+            networkSort(target, comparator, first, last);
+        } else {
+            insertionSort(target, comparator, first, last);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if small subarrays are sorted by sorting networks instead of
+     * insertions method. Sorting networks do not preserve order of equal
+     * items, so stable sorters must not use them.
+     *
+     * @return true if sorting networks are used.
+     */
+    protected boolean useNetworks() {
+        return false;
+    }
+
+    /**
+     * Sorts specified subarray with insertions method.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> void insertionSort(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            T item = target.read(pivot);
+            int i = pivot;
+            while (i > first) {
+                T previous = target.read(i - 1);
+                if (CommonHelper.compare(comparator, item, previous) >= 0) {
+                    break;
+                }
+                target.write(i, previous);
+                --i;
+            }
+            if (i != pivot) {
+                target.write(i, item);
+            }
+        }
+    }
+
+    /**
+     * Sorts specified subarray of up to 16 items with the sorting network
+     * of its size.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @throws IllegalArgumentException if the subarray is too large.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     * @see NetworkSorter
+     */
+    protected final <T> void networkSort(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last) {
+        NetworkSorter.sort(target, comparator, first, last - first + 1);
+    }
+
+    /**
+     * Sorts specified subarray in place using binary heap properties.
+     * The heap is built bottom-up; on removal of the max item the hole is
+     * sunk to the bottom with a single comparison per level and the last
+     * item is sifted up from there (R. Floyd's method).
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> void heapSort(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last) {
+        heapSort(target, comparator, first, last, null);
+    }
+
+    /**
+     * Sorts specified subarray in place using binary heap properties and
+     * checks the time consumption on every step of building and sorting
+     * down the heap.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @param stopwatch time consumption registry (optional).
+     *
+     * @see ArrayModel
+     * @see Comparator
+     * @see Stopwatch
+     */
+    protected final <T> void heapSort(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last,
+            Stopwatch stopwatch) {
+        int length = last - first + 1;
+        for (int i = length / 2 - 1; i >= 0; --i) {
+            sink(target, comparator, first, i, length);
+            check(stopwatch);
+        }
+        for (int end = length - 1; end > 0; --end) {
+            T item = target.read(first + end);
+            target.write(first + end, target.read(first));
+            sift(target, comparator, first, item, end);
+            check(stopwatch);
+        }
+    }
+
     /**
      * Registers a recursive call.
      *
@@ -116,4 +298,62 @@ public abstract class AbstractSorter implements Sorter {
     protected final void registerRecursiveReturn(Registry recursions) {
         recursions.register(-1);
     }
+
+    private void check(Stopwatch stopwatch) {
+        if (stopwatch != null) {
+            stopwatch.check();
+        }
+    }
+
+    private <T> void sink(ArrayModel<T> target, Comparator<T> comparator,
+            int offset, int index, int length) {
+        T item = target.read(offset + index);
+        int child = index * 2 + 1;
+        while (child < length) {
+            T childItem = target.read(offset + child);
+            if (child + 1 < length) {
+                T rightItem = target.read(offset + child + 1);
+                if (CommonHelper.compare(comparator, childItem, rightItem) < 0) {
+                    child++;
+                    childItem = rightItem;
+                }
+            }
+            if (CommonHelper.compare(comparator, item, childItem) >= 0) {
+                break;
+            }
+            target.write(offset + index, childItem);
+            index = child;
+            child = index * 2 + 1;
+        }
+        target.write(offset + index, item);
+    }
+
+    private <T> void sift(ArrayModel<T> target, Comparator<T> comparator,
+            int offset, T item, int length) {
+        int index = 0;
+        int child = 1;
+        while (child < length) {
+            T childItem = target.read(offset + child);
+            if (child + 1 < length) {
+                T rightItem = target.read(offset + child + 1);
+                if (CommonHelper.compare(comparator, childItem, rightItem) < 0) {
+                    child++;
+                    childItem = rightItem;
+                }
+            }
+            target.write(offset + index, childItem);
+            index = child;
+            child = index * 2 + 1;
+        }
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            T parentItem = target.read(offset + parent);
+            if (CommonHelper.compare(comparator, parentItem, item) >= 0) {
+                break;
+            }
+            target.write(offset + index, parentItem);
+            index = parent;
+        }
+        target.write(offset + index, item);
+    }
 }
@@ -0,0 +1,437 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+
+/**
+ * Stable index permutation sorting ("argsort") implementation. Instead of
+ * items, indices of items are sorted by a top-down merge method, so keys
+ * are never moved. The resulting permutation can be applied in place to
+ * any amount of parallel columns (arrays of primitives, arrays of objects
+ * or array models) by following its cycles, which sorts column stores
+ * without building row objects. Sorting of an array by itself is the
+ * same as applying its own permutation to it.
+ *
+ * @see AbstractSorter
+ * @see FootprintSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 26 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ArgSorter extends AbstractSorter
+        implements FootprintSorter {
+
+    public static final int DEFAULT_CUTOFF = 8;
+
+    /**
+     * Creates a new instance of ArgSorter.
+     */
+    public ArgSorter() {
+        super(DEFAULT_CUTOFF);
+    }
+
+    @Override
+    public String getInfo() {
+        return "Index permutation merge method";
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return n;
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        permute(argsort(target, comparator, arrayFactory, recursions,
+                stopwatch), target);
+    }
+
+    /**
+     * Gets a permutation which sorts specified keys: item K of the sorted
+     * keys is the item of index "result[K]" of the keys. Equal keys keep
+     * their order. The keys are not changed.
+     *
+     * @param keys array model of keys.
+     * @param comparator a key comparator.
+     * @param arrayFactory auxillary arrays allocator.
+     * @param recursions registry of recursive calls.
+     * @param stopwatch time consumption registry.
+     * @return sorting permutation.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see Comparator
+     * @see Registry
+     * @see Stopwatch
+     */
+    public <T> int[] argsort(ArrayModel<T> keys, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        int size = keys.getSize();
+        int[] result = new int[size];
+        for (int i = 0; i < size; ++i) {
+            result[i] = i;
+        }
+        if (size < 2) {
+            return result;
+        }
+        ArrayModel<Integer> aux = arrayFactory.create(size);
+        sort(keys, comparator, result, 0, size - 1, aux, recursions,
+                stopwatch);
+        arrayFactory.desctruct(aux);
+        return result;
+    }
+
+    /**
+     * Rearranges specified columns in place by a permutation, so item K of
+     * every column becomes its former item of index "permutation[K]".
+     * Columns can be arrays of primitives, arrays of objects or array
+     * models; all of them are rearranged by a single pass over cycles of
+     * the permutation. The permutation is restored after use.
+     *
+     * @param permutation a permutation of column indices.
+     * @param columns columns to be rearranged.
+     * @throws IllegalArgumentException if the permutation is illegal,
+     * a column is not supported or its size differs from the permutation.
+     *
+     * @see ArrayModel
+     */
+    public static void permute(int[] permutation, Object... columns) {
+        if (permutation == null) {
+            throw new NullPointerException("permutation is null");
+        }
+        Column[] wrapped = new Column[columns.length];
+        for (int c = 0; c < columns.length; ++c) {
+            wrapped[c] = wrap(columns[c]);
+            if (wrapped[c].getSize() != permutation.length) {
+                throw new IllegalArgumentException(
+                        "column size differs from permutation size");
+            }
+        }
+        checkPermutation(permutation);
+        for (int start = 0; start < permutation.length; ++start) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            for (Column column : wrapped) {
+                column.save(start);
+            }
+            int i = start;
+            int next = permutation[i];
+            permutation[i] = ~next;
+            while (next != start) {
+                for (Column column : wrapped) {
+                    column.move(next, i);
+                }
+                i = next;
+                next = permutation[i];
+                permutation[i] = ~next;
+            }
+            for (Column column : wrapped) {
+                column.restore(i);
+            }
+        }
+        for (int i = 0; i < permutation.length; ++i) {
+            permutation[i] = ~permutation[i];
+        }
+    }
+
+    private <T> void sort(ArrayModel<T> keys, Comparator<T> comparator,
+            int[] indices, int first, int last, ArrayModel<Integer> aux,
+            Registry recs, Stopwatch stopwatch) {
+        if (last - first < getCutoff()) {
+            insert(keys, comparator, indices, first, last);
+            return;
+        }
+        int middle = first + (last - first) / 2;
+        registerRecursiveCall(recs);
+        sort(keys, comparator, indices, first, middle, aux, recs, stopwatch);
+        registerRecursiveReturn(recs);
+        registerRecursiveCall(recs);
+        sort(keys, comparator, indices, middle + 1, last, aux, recs,
+                stopwatch);
+        registerRecursiveReturn(recs);
+        if (less(keys, comparator, indices[middle + 1], indices[middle])) {
+            merge(keys, comparator, indices, first, middle, last, aux);
+        }
+        stopwatch.check();
+    }
+
+    private <T> void insert(ArrayModel<T> keys, Comparator<T> comparator,
+            int[] indices, int first, int last) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            int index = indices[pivot];
+            int i = pivot;
+            while (i > first && less(keys, comparator, index, indices[i - 1])) {
+                indices[i] = indices[i - 1];
+                --i;
+            }
+            indices[i] = index;
+        }
+    }
+
+    private <T> void merge(ArrayModel<T> keys, Comparator<T> comparator,
+            int[] indices, int first, int middle, int last,
+            ArrayModel<Integer> aux) {
+        for (int i = first; i <= last; ++i) {
+            aux.write(i, indices[i]);
+        }
+        int left = first;
+        int right = middle + 1;
+        for (int i = first; i <= last; ++i) {
+            if (left > middle) {
+                indices[i] = aux.read(right++);
+            } else if (right > last) {
+                indices[i] = aux.read(left++);
+            } else {
+                int leftIndex = aux.read(left);
+                int rightIndex = aux.read(right);
+                if (less(keys, comparator, rightIndex, leftIndex)) {
+                    indices[i] = rightIndex;
+                    right++;
+                } else {
+                    indices[i] = leftIndex;
+                    left++;
+                }
+            }
+        }
+    }
+
+    private static void checkPermutation(int[] permutation) {
+        int size = permutation.length;
+        for (int i = 0; i < size; ++i) {
+            if (permutation[i] < 0 || permutation[i] >= size) {
+                throw new IllegalArgumentException(
+                        "permutation index is out of range");
+            }
+        }
+        boolean repeated = false;
+        for (int i = 0; i < size && !repeated; ++i) {
+            int index = permutation[i] < 0 ? ~permutation[i] : permutation[i];
+            if (permutation[index] < 0) {
+                repeated = true;
+            } else {
+                permutation[index] = ~permutation[index];
+            }
+        }
+        for (int i = 0; i < size; ++i) {
+            if (permutation[i] < 0) {
+                permutation[i] = ~permutation[i];
+            }
+        }
+        if (repeated) {
+            throw new IllegalArgumentException(
+                    "permutation index is repeated");
+        }
+    }
+
+    private static Column wrap(Object column) {
+        if (column == null) {
+            throw new NullPointerException("column is null");
+        }
+        if (column instanceof int[]) {
+            return new IntColumn((int[]) column);
+        }
+        if (column instanceof long[]) {
+            return new LongColumn((long[]) column);
+        }
+        if (column instanceof double[]) {
+            return new DoubleColumn((double[]) column);
+        }
+        if (column instanceof Object[]) {
+            return new ObjectColumn((Object[]) column);
+        }
+        if (column instanceof ArrayModel) {
+            return wrap((ArrayModel<?>) column);
+        }
+        throw new IllegalArgumentException("column type is not supported");
+    }
+
+    private static <T> Column wrap(ArrayModel<T> column) {
+        return new ModelColumn<T>(column);
+    }
+
+    private static interface Column {
+
+        int getSize();
+
+        void save(int index);
+
+        void move(int from, int to);
+
+        void restore(int index);
+    }
+
+    private static final class IntColumn implements Column {
+
+        private final int[] _items;
+        private int _saved;
+
+        IntColumn(int[] items) {
+            _items = items;
+        }
+
+        @Override
+        public int getSize() {
+            return _items.length;
+        }
+
+        @Override
+        public void save(int index) {
+            _saved = _items[index];
+        }
+
+        @Override
+        public void move(int from, int to) {
+            _items[to] = _items[from];
+        }
+
+        @Override
+        public void restore(int index) {
+            _items[index] = _saved;
+        }
+    }
+
+    private static final class LongColumn implements Column {
+
+        private final long[] _items;
+        private long _saved;
+
+        LongColumn(long[] items) {
+            _items = items;
+        }
+
+        @Override
+        public int getSize() {
+            return _items.length;
+        }
+
+        @Override
+        public void save(int index) {
+            _saved = _items[index];
+        }
+
+        @Override
+        public void move(int from, int to) {
+            _items[to] = _items[from];
+        }
+
+        @Override
+        public void restore(int index) {
+            _items[index] = _saved;
+        }
+    }
+
+    private static final class DoubleColumn implements Column {
+
+        private final double[] _items;
+        private double _saved;
+
+        DoubleColumn(double[] items) {
+            _items = items;
+        }
+
+        @Override
+        public int getSize() {
+            return _items.length;
+        }
+
+        @Override
+        public void save(int index) {
+            _saved = _items[index];
+        }
+
+        @Override
+        public void move(int from, int to) {
+            _items[to] = _items[from];
+        }
+
+        @Override
+        public void restore(int index) {
+            _items[index] = _saved;
+        }
+    }
+
+    private static final class ObjectColumn implements Column {
+
+        private final Object[] _items;
+        private Object _saved;
+
+        ObjectColumn(Object[] items) {
+            _items = items;
+        }
+
+        @Override
+        public int getSize() {
+            return _items.length;
+        }
+
+        @Override
+        public void save(int index) {
+            _saved = _items[index];
+        }
+
+        @Override
+        public void move(int from, int to) {
+            _items[to] = _items[from];
+        }
+
+        @Override
+        public void restore(int index) {
+            _items[index] = _saved;
+        }
+    }
+
+    private static final class ModelColumn<T> implements Column {
+
+        private final ArrayModel<T> _items;
+        private T _saved;
+
+        ModelColumn(ArrayModel<T> items) {
+            _items = items;
+        }
+
+        @Override
+        public int getSize() {
+            return _items.getSize();
+        }
+
+        @Override
+        public void save(int index) {
+            _saved = _items.read(index);
+        }
+
+        @Override
+        public void move(int from, int to) {
+            _items.write(to, _items.read(from));
+        }
+
+        @Override
+        public void restore(int index) {
+            _items.write(index, _saved);
+        }
+    }
+}
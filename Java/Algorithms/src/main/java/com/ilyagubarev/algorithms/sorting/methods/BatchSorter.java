@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.networks.SortingNetworks;
+
+/**
+ * Batch sorting method for segmented arrays. A segmented array is an
+ * array of items and an array of segment offsets: segment K consists of
+ * items from offset K (inclusive) to offset "K + 1" (exclusive). Every
+ * segment is sorted independently by a method chosen by its size: sorting
+ * networks for up to 16 items, insertions method for up to the cutoff and
+ * introspective method for larger segments. Groups of adjacent segments
+ * are sorted in parallel by fork/join tasks. Sorting of a non-segmented
+ * array is the same as sorting of a single segment.
+ *
+ * @see PartitionSorter
+ * @see ReportingSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 25 October 2013
+ * @author Ilya Gubarev
+ */
+public final class BatchSorter extends PartitionSorter
+        implements ReportingSorter {
+
+    public static final String SEGMENTS = "segments";
+    public static final String NETWORK_SEGMENTS = "network segments";
+    public static final String INSERTION_SEGMENTS = "insertion segments";
+    public static final String INTROSPECTIVE_SEGMENTS =
+            "introspective segments";
+
+    public static final int DEFAULT_CUTOFF = 32;
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final int _threshold;
+    private final ForkJoinPool _pool;
+    private Counter _networkSegments = new Counter();
+    private Counter _insertionSegments = new Counter();
+    private Counter _introspectiveSegments = new Counter();
+
+    /**
+     * Creates a new instance of BatchSorter with default parallel
+     * threshold and common fork/join pool.
+     */
+    public BatchSorter() {
+        this(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance of BatchSorter.
+     *
+     * @param threshold max amount of items to be sorted by a single task.
+     * @param pool a fork/join pool to run tasks at.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     *
+     * @see ForkJoinPool
+     */
+    public BatchSorter(int threshold, ForkJoinPool pool) {
+        super(DEFAULT_CUTOFF);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold is not positive");
+        }
+        if (pool == null) {
+            throw new NullPointerException("fork/join pool is null");
+        }
+        _threshold = threshold;
+        _pool = pool;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Batch method (threshold: %d)", _threshold);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        double networks = _networkSegments.getValue();
+        double insertions = _insertionSegments.getValue();
+        double introspections = _introspectiveSegments.getValue();
+        result.put(SEGMENTS, networks + insertions + introspections);
+        result.put(NETWORK_SEGMENTS, networks);
+        result.put(INSERTION_SEGMENTS, insertions);
+        result.put(INTROSPECTIVE_SEGMENTS, introspections);
+        return result;
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        sort(target, new int[] {0, target.getSize()}, comparator,
+                arrayFactory, nodeFactory, recursions, stopwatch);
+    }
+
+    /**
+     * Sorts every segment of specified segmented array.
+     *
+     * @param target target array model.
+     * @param offsets non-decreasing offsets of segments starting with zero
+     * and ending with the target size.
+     * @param comparator an item comparator.
+     * @param arrayFactory item arrays allocator.
+     * @param nodeFactory item nodes provider.
+     * @param recursions registry of recursive calls.
+     * @param stopwatch time consumption registry.
+     * @throws IllegalArgumentException if the offsets are illegal.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see Comparator
+     * @see NodeModelFactory
+     * @see Registry
+     * @see Stopwatch
+     */
+    public synchronized <T> void sort(ArrayModel<T> target, int[] offsets,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        if (offsets == null) {
+            throw new NullPointerException("offsets are null");
+        }
+        if (offsets.length < 1 || offsets[0] != 0
+                || offsets[offsets.length - 1] != target.getSize()) {
+            throw new IllegalArgumentException("offsets are out of range");
+        }
+        for (int i = 1; i < offsets.length; ++i) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException("offsets are decreasing");
+            }
+        }
+        _networkSegments = new Counter();
+        _insertionSegments = new Counter();
+        _introspectiveSegments = new Counter();
+        int segments = offsets.length - 1;
+        if (target.getSize() <= _threshold) {
+            sort(target, offsets, 0, segments, comparator, recursions,
+                    stopwatch);
+        } else {
+            _pool.invoke(new SegmentsAction<T>(target, offsets, 0, segments,
+                    comparator, recursions, stopwatch));
+        }
+    }
+
+    private <T> void sort(ArrayModel<T> target, int[] offsets, int first,
+            int end, Comparator<T> comparator, Registry recursions,
+            Stopwatch stopwatch) {
+        for (int segment = first; segment < end; ++segment) {
+            int begin = offsets[segment];
+            int last = offsets[segment + 1] - 1;
+            int size = last - begin + 1;
+            if (size <= SortingNetworks.MAX_SIZE) {
+                networkSort(target, comparator, begin, last);
+                _networkSegments.increment();
+            } else if (!sortSmall(target, comparator, begin, last)) {
+                introSort(target, comparator, begin, last,
+                        getDepthLimit(size), recursions);
+                _introspectiveSegments.increment();
+            } else {
+                _insertionSegments.increment();
+            }
+            stopwatch.check();
+        }
+    }
+
+    private final class SegmentsAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayModel<T> _target;
+        private final int[] _offsets;
+        private final int _first;
+        private final int _end;
+        private final Comparator<T> _comparator;
+        private final Registry _recursions;
+        private final Stopwatch _stopwatch;
+
+        SegmentsAction(ArrayModel<T> target, int[] offsets, int first,
+                int end, Comparator<T> comparator, Registry recursions,
+                Stopwatch stopwatch) {
+            _target = target;
+            _offsets = offsets;
+            _first = first;
+            _end = end;
+            _comparator = comparator;
+            _recursions = recursions;
+            _stopwatch = stopwatch;
+        }
+
+        @Override
+        protected void compute() {
+            int items = _offsets[_end] - _offsets[_first];
+            if (items <= _threshold || _end - _first < 2) {
+                sort(_target, _offsets, _first, _end, _comparator,
+                        _recursions, _stopwatch);
+                return;
+            }
+            int middle = _first + (_end - _first) / 2;
+            invokeAll(new SegmentsAction<T>(_target, _offsets, _first, middle,
+                    _comparator, _recursions, _stopwatch),
+                    new SegmentsAction<T>(_target, _offsets, middle, _end,
+                    _comparator, _recursions, _stopwatch));
+        }
+    }
+}
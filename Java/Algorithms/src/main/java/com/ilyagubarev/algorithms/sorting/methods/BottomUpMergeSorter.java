@@ -26,25 +26,39 @@ import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
 /**
  * Bottom-up merge method sorting algorithm implementation.
  *
+ * @see FootprintSorter
  * @see MergeSorter
  *
- * @version 1.02, 20 September 2013
+ * @version 1.04, 17 October 2013
  * @since 15 September 2013
  * @author Ilya Gubarev
  */
-public final class BottomUpMergeSorter extends MergeSorter {
+public final class BottomUpMergeSorter extends MergeSorter
+        implements FootprintSorter {
 
     @Override
     public String getInfo() {
         return "Bottom-up merge method";
     }
 
+    @Override
+    public long getAuxFootprint(int n) {
+        return n;
+    }
+
     @Override
     public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
             Registry recursions, Stopwatch stopwatch) {
         ArrayModel aux = arrayFactory.create(target.getSize());
-        for (int sub = 1; sub < target.getSize(); sub += sub) {
+        int cutoff = Math.max(getCutoff(), 1);
+        if (cutoff > 1) {
+            for (int i = 0; i < target.getSize(); i += cutoff) {
+                int last = Math.min(i + cutoff, target.getSize()) - 1;
+                insertionSort(target, comparator, i, last);
+            }
+        }
+        for (int sub = cutoff; sub < target.getSize(); sub += sub) {
             for (int i = 0; i < target.getSize() - sub; i += 2 * sub) {
                 int rightLast = Math.min(i + 2 * sub, target.getSize());
                 merge(target, comparator, i, i + sub - 1, rightLast - 1, aux);
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.keys.KeyExtractor;
+
+/**
+ * Stable key-indexed counting sorting algorithm implementation. Items are
+ * ordered by numeric keys provided by a key extractor, custom comparators
+ * are not supported. The range of keys is detected by a single pass; keys
+ * of a dense range are counted in a key-indexed table, keys of a sparse
+ * range are counted in an open addressing hash table sized to the amount
+ * of items, only its distinct keys being sorted (in place with binary
+ * heap, their comparisons are reported as a statistic). The tables, the
+ * array of distinct keys and the auxillary array of items are allocated
+ * by the array model factory.
+ *
+ * @see AbstractSorter
+ * @see KeyExtractor
+ * @see ReportingSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 22 October 2013
+ * @author Ilya Gubarev
+ */
+public final class CountingSorter extends AbstractSorter
+        implements ReportingSorter {
+
+    public static final String KEY_RANGE = "key range";
+    public static final String DISTINCT_KEYS = "distinct keys";
+    public static final String HASHED = "hashed";
+    public static final String KEY_COMPARISONS = "key comparisons";
+
+    public static final int DEFAULT_DENSE_RANGE = 1 << 16;
+
+    private static final int HASH_LOAD_FACTOR = 2;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final KeyExtractor<?> _extractor;
+    private final int _denseRange;
+    private double _range;
+    private int _distinct;
+    private boolean _hashed;
+    private long _keyComparisons;
+
+    /**
+     * Creates a new instance of CountingSorter with default dense range.
+     *
+     * @param extractor item key extractor.
+     *
+     * @see KeyExtractor
+     */
+    public CountingSorter(KeyExtractor<?> extractor) {
+        this(extractor, DEFAULT_DENSE_RANGE);
+    }
+
+    /**
+     * Creates a new instance of CountingSorter. Key ranges not exceeding
+     * either the dense range or the amount of items are counted in
+     * a key-indexed table.
+     *
+     * @param extractor item key extractor.
+     * @param denseRange max key range to be always counted in a key-indexed
+     * table.
+     * @throws IllegalArgumentException if dense range is not positive.
+     *
+     * @see KeyExtractor
+     */
+    public CountingSorter(KeyExtractor<?> extractor, int denseRange) {
+        if (extractor == null) {
+            throw new NullPointerException("key extractor is null");
+        }
+        if (denseRange < 1) {
+            throw new IllegalArgumentException("dense range is not positive");
+        }
+        _extractor = extractor;
+        _denseRange = denseRange;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Counting method (%s, dense range: %d)",
+                _extractor.getInfo(), _denseRange);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(KEY_RANGE, _range);
+        result.put(DISTINCT_KEYS, (double) _distinct);
+        result.put(HASHED, _hashed ? 1.0 : 0.0);
+        result.put(KEY_COMPARISONS, (double) _keyComparisons);
+        return result;
+    }
+
+    @Override
+    public synchronized <T> void sort(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        if (comparator != null) {
+            throw new IllegalArgumentException("comparator is not supported");
+        }
+        _range = 0;
+        _distinct = 0;
+        _hashed = false;
+        _keyComparisons = 0;
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; ++i) {
+            long key = getKey(target.read(i));
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        _range = (double) max - min + 1;
+        if (max == min) {
+            _distinct = 1;
+            return;
+        }
+        stopwatch.check();
+        ArrayModel<T> aux = arrayFactory.create(size);
+        if (_range <= Math.max(_denseRange, size)) {
+            sortDense(target, aux, min, (int) (max - min + 1), arrayFactory);
+        } else {
+            _hashed = true;
+            sortHashed(target, aux, arrayFactory);
+        }
+        stopwatch.check();
+        for (int i = 0; i < size; ++i) {
+            target.write(i, aux.read(i));
+        }
+        arrayFactory.desctruct(aux);
+    }
+
+    private <T> void sortDense(ArrayModel<T> target, ArrayModel<T> aux,
+            long min, int range, ArrayModelFactory arrayFactory) {
+        int size = target.getSize();
+        ArrayModel<Integer> counts = arrayFactory.create(range);
+        for (int k = 0; k < range; ++k) {
+            counts.write(k, 0);
+        }
+        for (int i = 0; i < size; ++i) {
+            int k = (int) (getKey(target.read(i)) - min);
+            counts.write(k, counts.read(k) + 1);
+        }
+        int offset = 0;
+        for (int k = 0; k < range; ++k) {
+            int count = counts.read(k);
+            if (count > 0) {
+                _distinct++;
+                counts.write(k, offset);
+                offset += count;
+            }
+        }
+        for (int i = 0; i < size; ++i) {
+            T item = target.read(i);
+            int k = (int) (getKey(item) - min);
+            int position = counts.read(k);
+            aux.write(position, item);
+            counts.write(k, position + 1);
+        }
+        arrayFactory.desctruct(counts);
+    }
+
+    private <T> void sortHashed(ArrayModel<T> target, ArrayModel<T> aux,
+            ArrayModelFactory arrayFactory) {
+        int size = target.getSize();
+        int capacity = Integer.highestOneBit(size) * 2 * HASH_LOAD_FACTOR;
+        ArrayModel<Long> keys = arrayFactory.create(capacity);
+        ArrayModel<Integer> counts = arrayFactory.create(capacity);
+        for (int i = 0; i < size; ++i) {
+            long key = getKey(target.read(i));
+            int slot = find(keys, key);
+            if (keys.read(slot) == null) {
+                keys.write(slot, key);
+                counts.write(slot, 1);
+                _distinct++;
+            } else {
+                counts.write(slot, counts.read(slot) + 1);
+            }
+        }
+        ArrayModel<Long> distinct = arrayFactory.create(_distinct);
+        int d = 0;
+        for (int slot = 0; slot < capacity; ++slot) {
+            Long key = keys.read(slot);
+            if (key != null) {
+                distinct.write(d++, key);
+            }
+        }
+        heapSort(distinct, new Comparator<Long>() {
+
+            @Override
+            public int compare(Long first, Long second) {
+                _keyComparisons++;
+                return first.compareTo(second);
+            }
+        }, 0, _distinct - 1);
+        int offset = 0;
+        for (d = 0; d < _distinct; ++d) {
+            int slot = find(keys, distinct.read(d));
+            int count = counts.read(slot);
+            counts.write(slot, offset);
+            offset += count;
+        }
+        for (int i = 0; i < size; ++i) {
+            T item = target.read(i);
+            int slot = find(keys, getKey(item));
+            int position = counts.read(slot);
+            aux.write(position, item);
+            counts.write(slot, position + 1);
+        }
+        arrayFactory.desctruct(distinct);
+        arrayFactory.desctruct(counts);
+        arrayFactory.desctruct(keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long getKey(T item) {
+        return ((KeyExtractor<T>) _extractor).getKey(item);
+    }
+
+    private int find(ArrayModel<Long> keys, long key) {
+        int mask = keys.getSize() - 1;
+        int slot = (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+        while (true) {
+            Long stored = keys.read(slot);
+            if (stored == null || stored == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.collections.queues.PriorityQueueModel;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.codecs.RecordCodec;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * External merge sorting algorithm implementation. The target array is
+ * treated as an input and an output stream: items are read in runs limited
+ * by the memory budget, each run is sorted in an auxillary buffer and
+ * spilled to a temporary file through memory-mapped windows of a file
+ * channel. Windows are sized to the data, so files are not padded, and
+ * runs of a merge pass share windows of the file, so small runs do not
+ * map a window each. Runs are merged with a priority queue by groups
+ * limited by the fan-in, so several merge passes may be required; the
+ * last pass writes items back to the target array. Temporary files are
+ * deleted even if sorting fails. Spilled bytes, runs count and merge
+ * passes count are provided as statistics.
+ *
+ * @see PartitionSorter
+ * @see RecordCodec
+ * @see ReportingSorter
+ *
+ * @version 1.04, 27 October 2013
+ * @since 10 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ExternalMergeSorter extends PartitionSorter
+        implements ReportingSorter {
+
+    public static final int DEFAULT_FAN_IN = 16;
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 20;
+
+    public static final String BYTES_SPILLED = "bytes spilled";
+    public static final String RUNS = "runs";
+    public static final String MERGE_PASSES = "merge passes";
+
+    private static final String FILE_PREFIX = "sort";
+    private static final String FILE_SUFFIX = ".run";
+
+    private final RecordCodec<?> _codec;
+    private final int _runSize;
+    private final int _fanIn;
+    private final int _windowRecords;
+    private final File _directory;
+    private long _bytesSpilled;
+    private long _runs;
+    private long _mergePasses;
+
+    /**
+     * Creates a new instance of ExternalMergeSorter with default fan-in
+     * and default temporary files directory.
+     *
+     * @param codec a codec of items to be spilled.
+     * @param runSize max items count of an in-memory run.
+     * @throws IllegalArgumentException if the run size is not positive.
+     *
+     * @see RecordCodec
+     */
+    public ExternalMergeSorter(RecordCodec<?> codec, int runSize) {
+        this(codec, runSize, DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * Creates a new instance of ExternalMergeSorter.
+     *
+     * @param codec a codec of items to be spilled.
+     * @param runSize max items count of an in-memory run.
+     * @param fanIn max count of runs merged at once.
+     * @param directory temporary files directory (null for default).
+     * @throws IllegalArgumentException if any parameter is illegal.
+     *
+     * @see RecordCodec
+     */
+    public ExternalMergeSorter(RecordCodec<?> codec, int runSize, int fanIn,
+            File directory) {
+        super(INTROSPECTIVE_CUTOFF);
+        if (codec == null) {
+            throw new NullPointerException("record codec is null");
+        }
+        if (codec.getRecordSize() < 1) {
+            throw new IllegalArgumentException("record size is not positive");
+        }
+        if (runSize < 1) {
+            throw new IllegalArgumentException("run size is not positive");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fan-in is less than 2");
+        }
+        _codec = codec;
+        _runSize = runSize;
+        _fanIn = fanIn;
+        _windowRecords = Math.max(1, DEFAULT_WINDOW_SIZE
+                / codec.getRecordSize());
+        _directory = directory;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("External merge method (%s, run size: %d, "
+                + "fan-in: %d)", _codec.getInfo(), _runSize, _fanIn);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(BYTES_SPILLED, (double) _bytesSpilled);
+        result.put(RUNS, (double) _runs);
+        result.put(MERGE_PASSES, (double) _mergePasses);
+        return result;
+    }
+
+    @Override
+    public synchronized <T> void sort(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        _bytesSpilled = 0;
+        _runs = 0;
+        _mergePasses = 0;
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        ArrayModel<T> buffer = arrayFactory.create(Math.min(size, _runSize));
+        if (size <= _runSize) {
+            _runs = 1;
+            sortRun(target, comparator, buffer, 0, size, recursions);
+            copy(buffer, target, size);
+            arrayFactory.desctruct(buffer);
+            return;
+        }
+        PriorityQueueModel<RunReader<T>> queue = createQueue(comparator,
+                arrayFactory);
+        File file = null;
+        try {
+            file = createFile();
+            long[] bounds = spillRuns(target, comparator, buffer, file,
+                    recursions, stopwatch);
+            arrayFactory.desctruct(buffer);
+            buffer = null;
+            while (bounds.length - 1 > _fanIn) {
+                File output = createFile();
+                try {
+                    bounds = mergeRuns(file, bounds, output, queue,
+                            stopwatch);
+                } finally {
+                    delete(file);
+                    file = output;
+                }
+            }
+            mergeRuns(file, bounds, target, queue, stopwatch);
+        } catch (IOException e) {
+            throw new IllegalStateException("spilling failed", e);
+        } finally {
+            if (file != null) {
+                delete(file);
+            }
+            if (buffer != null) {
+                arrayFactory.desctruct(buffer);
+            }
+            queue.destruct();
+        }
+    }
+
+    private <T> void sortRun(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModel<T> buffer, int first, int length, Registry recursions) {
+        for (int i = 0; i < length; ++i) {
+            buffer.write(i, target.read(first + i));
+        }
+        introSort(buffer, comparator, 0, length - 1, getDepthLimit(length),
+                recursions);
+    }
+
+    private <T> void copy(ArrayModel<T> source, ArrayModel<T> destination,
+            int length) {
+        for (int i = 0; i < length; ++i) {
+            destination.write(i, source.read(i));
+        }
+    }
+
+    private <T> long[] spillRuns(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModel<T> buffer, File file,
+            Registry recursions, Stopwatch stopwatch) throws IOException {
+        int size = target.getSize();
+        int runs = (size + _runSize - 1) / _runSize;
+        long[] result = new long[runs + 1];
+        RandomAccessFile access = new RandomAccessFile(file, "rw");
+        try {
+            RunWriter<T> writer = new RunWriter<T>(access.getChannel(), size);
+            for (int run = 0; run < runs; ++run) {
+                int first = run * _runSize;
+                int length = Math.min(_runSize, size - first);
+                sortRun(target, comparator, buffer, first, length, recursions);
+                for (int i = 0; i < length; ++i) {
+                    writer.write(buffer.read(i));
+                }
+                result[run + 1] = first + length;
+                stopwatch.check();
+            }
+            writer.close();
+        } finally {
+            access.close();
+        }
+        _runs = runs;
+        _bytesSpilled += (long) size * _codec.getRecordSize();
+        return result;
+    }
+
+    private <T> long[] mergeRuns(File input, long[] bounds, File output,
+            PriorityQueueModel<RunReader<T>> queue, Stopwatch stopwatch)
+            throws IOException {
+        int runs = bounds.length - 1;
+        int groups = (runs + _fanIn - 1) / _fanIn;
+        long[] result = new long[groups + 1];
+        RandomAccessFile source = new RandomAccessFile(input, "r");
+        RandomAccessFile destination = new RandomAccessFile(output, "rw");
+        try {
+            RunWindows windows = new RunWindows(source.getChannel(),
+                    bounds[runs]);
+            RunWriter<T> writer = new RunWriter<T>(destination.getChannel(),
+                    bounds[runs]);
+            for (int group = 0; group < groups; ++group) {
+                int first = group * _fanIn;
+                int last = Math.min(first + _fanIn, runs);
+                merge(windows, bounds, first, last, queue, writer, null,
+                        stopwatch);
+                result[group + 1] = bounds[last];
+            }
+            writer.close();
+        } finally {
+            source.close();
+            destination.close();
+        }
+        _mergePasses++;
+        _bytesSpilled += bounds[runs] * _codec.getRecordSize();
+        return result;
+    }
+
+    private <T> void mergeRuns(File input, long[] bounds, ArrayModel<T> target,
+            PriorityQueueModel<RunReader<T>> queue, Stopwatch stopwatch)
+            throws IOException {
+        RandomAccessFile source = new RandomAccessFile(input, "r");
+        try {
+            int runs = bounds.length - 1;
+            merge(new RunWindows(source.getChannel(), bounds[runs]), bounds,
+                    0, runs, queue, null, target, stopwatch);
+        } finally {
+            source.close();
+        }
+        _mergePasses++;
+    }
+
+    private <T> PriorityQueueModel<RunReader<T>> createQueue(
+            final Comparator<T> comparator, ArrayModelFactory arrayFactory) {
+        Comparator<RunReader<T>> order = new Comparator<RunReader<T>>() {
+            @Override
+            public int compare(RunReader<T> o1, RunReader<T> o2) {
+                int result = CommonHelper.compare(comparator, o2.getHead(),
+                        o1.getHead());
+                return result != 0 ? result : o2.getRun() - o1.getRun();
+            }
+        };
+        return new PriorityQueueModel<RunReader<T>>(_fanIn, order,
+                arrayFactory);
+    }
+
+    private <T> void merge(RunWindows windows, long[] bounds, int first,
+            int last, PriorityQueueModel<RunReader<T>> queue,
+            RunWriter<T> writer, ArrayModel<T> target, Stopwatch stopwatch)
+            throws IOException {
+        for (int run = first; run < last; ++run) {
+            RunReader<T> reader = new RunReader<T>(windows, run, bounds[run],
+                    bounds[run + 1]);
+            if (reader.advance()) {
+                queue.enqueue(reader);
+            }
+        }
+        int index = (int) bounds[first];
+        while (!queue.isEmpty()) {
+            RunReader<T> reader = queue.dequeue();
+            if (writer != null) {
+                writer.write(reader.getHead());
+            } else {
+                target.write(index, reader.getHead());
+            }
+            if (reader.advance()) {
+                queue.enqueue(reader);
+            }
+            if (++index % _windowRecords == 0) {
+                stopwatch.check();
+            }
+        }
+    }
+
+    private File createFile() throws IOException {
+        File result = File.createTempFile(FILE_PREFIX, FILE_SUFFIX,
+                _directory);
+        result.deleteOnExit();
+        return result;
+    }
+
+    private void delete(File file) {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void encode(T item, ByteBuffer buffer) {
+        ((RecordCodec<T>) _codec).write(item, buffer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T decode(ByteBuffer buffer) {
+        return ((RecordCodec<T>) _codec).read(buffer);
+    }
+
+    private final class RunWriter<T> {
+
+        private final FileChannel _channel;
+        private final long _records;
+        private MappedByteBuffer _window;
+        private long _written;
+
+        RunWriter(FileChannel channel, long records) {
+            _channel = channel;
+            _records = records;
+        }
+
+        void write(T item) throws IOException {
+            if (_window == null || !_window.hasRemaining()) {
+                long records = Math.min(_windowRecords, _records - _written);
+                _window = _channel.map(FileChannel.MapMode.READ_WRITE,
+                        _written * _codec.getRecordSize(),
+                        records * _codec.getRecordSize());
+            }
+            encode(item, _window);
+            _written++;
+        }
+
+        void close() throws IOException {
+            _window = null;
+            _channel.truncate(_written * _codec.getRecordSize());
+        }
+    }
+
+    private final class RunWindows {
+
+        private final FileChannel _channel;
+        private final long _records;
+        private final Map<Long, MappedByteBuffer> _windows;
+
+        RunWindows(FileChannel channel, long records) {
+            _channel = channel;
+            _records = records;
+            _windows = new LinkedHashMap<Long, MappedByteBuffer>(_fanIn + 1,
+                    0.75f, true);
+        }
+
+        ByteBuffer getWindow(long first, long last) throws IOException {
+            long index = first / _windowRecords;
+            long offset = index * _windowRecords;
+            MappedByteBuffer window = _windows.get(index);
+            if (window == null) {
+                long records = Math.min(_windowRecords, _records - offset);
+                window = _channel.map(FileChannel.MapMode.READ_ONLY,
+                        offset * _codec.getRecordSize(),
+                        records * _codec.getRecordSize());
+                _windows.put(index, window);
+                if (_windows.size() > _fanIn) {
+                    Iterator<Long> eldest = _windows.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            ByteBuffer result = window.duplicate();
+            long end = Math.min(last, offset + _windowRecords);
+            result.limit((int) ((end - offset) * _codec.getRecordSize()));
+            result.position((int) ((first - offset) * _codec.getRecordSize()));
+            return result;
+        }
+    }
+
+    private final class RunReader<T> {
+
+        private final RunWindows _windows;
+        private final int _run;
+        private final long _last;
+        private long _next;
+        private ByteBuffer _window;
+        private T _head;
+
+        RunReader(RunWindows windows, int run, long first, long last) {
+            _windows = windows;
+            _run = run;
+            _next = first;
+            _last = last;
+        }
+
+        int getRun() {
+            return _run;
+        }
+
+        T getHead() {
+            return _head;
+        }
+
+        boolean advance() throws IOException {
+            if (_next == _last) {
+                _head = null;
+                return false;
+            }
+            if (_window == null || !_window.hasRemaining()) {
+                _window = _windows.getWindow(_next, _last);
+            }
+            _head = decode(_window);
+            _next++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+/**
+ * Sorting algorithm which declares its auxillary memory footprint.
+ *
+ * @see Sorter
+ *
+ * @version 1.01, 17 October 2013
+ * @since 17 October 2013
+ * @author Ilya Gubarev
+ */
+public interface FootprintSorter extends Sorter {
+
+    /**
+     * Gets expected peak of auxillary memory allocated while sorting.
+     *
+     * @param n target array items count.
+     * @return auxillary memory footprint in array cells.
+     */
+    long getAuxFootprint(int n);
+}
@@ -23,75 +23,111 @@ import com.ilyagubarev.algorithms.adt.collections.queues.PriorityQueueModel;
 import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
 import com.ilyagubarev.algorithms.adt.utils.Registry;
 import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
-import com.ilyagubarev.algorithms.utils.CommonHelper;
 
 /**
  * Sorting algorithm implementation based on binary heap properties.
+ * Items can be either passed through a priority queue or sorted in place
+ * with the iterative heap sorting method.
  *
  * @see AbstractSorter
+ * @see FootprintSorter
  *
- * @version 1.03, 01 October 2013
+ * @version 1.06, 27 October 2013
  * @since 16 September 2013
  * @author Ilya Gubarev
  */
-public final class HeapSorter extends AbstractSorter {
+public final class HeapSorter extends AbstractSorter
+        implements FootprintSorter {
+
+    /**
+     * Heap placement modes.
+     */
+    public static enum Mode {
+
+        /**
+         * Items are enqueued to an auxillary priority queue and dequeued
+         * back to the target array.
+         */
+        PRIORITY_QUEUE("priority queue"),
+
+        /**
+         * Heap is built bottom-up within the target array and sorted down
+         * with R. Floyd's method, no auxillary memory is used.
+         */
+        IN_PLACE("in-place");
+
+        private final String _text;
+
+        private Mode(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets mode text.
+         *
+         * @return mode text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    private final Mode _mode;
+
+    /**
+     * Creates a new instance of HeapSorter with priority queue mode.
+     */
+    public HeapSorter() {
+        this(Mode.PRIORITY_QUEUE);
+    }
+
+    /**
+     * Creates a new instance of HeapSorter.
+     *
+     * @param mode heap placement mode.
+     *
+     * @see Mode
+     */
+    public HeapSorter(Mode mode) {
+        if (mode == null) {
+            throw new NullPointerException("mode is null");
+        }
+        _mode = mode;
+    }
 
     @Override
     public String getInfo() {
-        return "Heap based method";
+        if (_mode == Mode.PRIORITY_QUEUE) {
+            return "Heap based method";
+        }
+        return String.format("Heap based method (%s)", _mode);
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return _mode == Mode.IN_PLACE || n == 0 ? 0 : n + 1;
     }
 
     @Override
     public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
             Registry recursions, Stopwatch stopwatch) {
+        if (_mode == Mode.IN_PLACE) {
+            heapSort(target, comparator, 0, target.getSize() - 1, stopwatch);
+            return;
+        }
         PriorityQueueModel<T> heap = new PriorityQueueModel<T>(target.getSize(),
                 comparator, arrayFactory);
         for (T item : target) {
             heap.enqueue(item);
         }
-        for (int i = 0; i < target.getSize(); i++) {
+        for (int i = target.getSize() - 1; i >= 0; i--) {
             target.write(i, heap.dequeue());
         }
     }
-
-//    @Override
-//    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
-//            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
-//            Registry recursions, Stopwatch stopwatch) {
-//        for (int i = target.getSize() / 2; i >= 0; i--) {
-//            sink(target, i, target.getSize(), comparator, recursions);
-//            stopwatch.check();
-//        }
-//        for (int i = target.getSize() - 1; i > 0; i--) {
-//            swap(target, 0, i);
-//            sink(target, 0, i, comparator, recursions);
-//            stopwatch.check();
-//        }
-//    }
-
-    private <T> void sink(ArrayModel<T> target, int itemIndex, int length,
-            Comparator<T> comparator, Registry recursions) {
-        int childIndex = itemIndex * 2 + 1;
-        if (childIndex >= length) {
-            return;
-        }
-        T child = target.read(childIndex);
-        int rightChildIndex = childIndex + 1;
-        if (rightChildIndex < length) {
-            T rightChild = target.read(rightChildIndex);
-            if (CommonHelper.compare(comparator, rightChild, child) > 0) {
-                childIndex = rightChildIndex;
-                child = rightChild;
-            }
-        }
-        T item = target.read(itemIndex);
-        if (CommonHelper.compare(comparator, item, child) < 0) {
-            target.write(itemIndex, child);
-            target.write(childIndex, item);
-            registerRecursiveCall(recursions);
-            sink(target, childIndex, length, comparator, recursions);
-            registerRecursiveReturn(recursions);
-        }
-    }
 }
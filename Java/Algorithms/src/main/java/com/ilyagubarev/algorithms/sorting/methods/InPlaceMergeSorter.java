@@ -0,0 +1,290 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Stable merge method sorting algorithm implementation for limited
+ * auxillary memory. Sorted halves are merged through a buffer if the
+ * smaller one fits it, otherwise the larger half is split in the middle,
+ * the smaller one at a binary searched position, the inner parts are
+ * exchanged by a rotation and both pairs are merged recursively. The
+ * buffer holds "sqrt(n)" items or is not used at all, so the auxillary
+ * memory footprint is declared accordingly.
+ *
+ * @see FootprintSorter
+ * @see MergeSorter
+ *
+ * @version 1.01, 17 October 2013
+ * @since 17 October 2013
+ * @author Ilya Gubarev
+ */
+public final class InPlaceMergeSorter extends MergeSorter
+        implements FootprintSorter {
+
+    /**
+     * Merge buffer types.
+     */
+    public static enum Buffer {
+
+        /**
+         * No buffer, merges are performed by rotations only.
+         */
+        NONE("no buffer"),
+
+        /**
+         * Buffer of square root of the target size.
+         */
+        SQUARE_ROOT("square root buffer");
+
+        private final String _text;
+
+        private Buffer(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets buffer type text.
+         *
+         * @return buffer type text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    public static final int DEFAULT_CUTOFF = 16;
+
+    private final Buffer _buffer;
+
+    /**
+     * Creates a new instance of InPlaceMergeSorter with square root
+     * buffer.
+     */
+    public InPlaceMergeSorter() {
+        this(Buffer.SQUARE_ROOT);
+    }
+
+    /**
+     * Creates a new instance of InPlaceMergeSorter.
+     *
+     * @param buffer merge buffer type.
+     *
+     * @see Buffer
+     */
+    public InPlaceMergeSorter(Buffer buffer) {
+        super(DEFAULT_CUTOFF);
+        if (buffer == null) {
+            throw new NullPointerException("buffer type is null");
+        }
+        _buffer = buffer;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("In-place merge method (%s)", _buffer);
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        if (_buffer == Buffer.NONE || n < 2) {
+            return 0;
+        }
+        return (long) Math.ceil(Math.sqrt(n));
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        int size = target.getSize();
+        int bufferSize = (int) getAuxFootprint(size);
+        ArrayModel<T> buffer = null;
+        if (bufferSize > 0) {
+            buffer = arrayFactory.create(bufferSize);
+        }
+        sort(target, comparator, 0, size, buffer, recursions, stopwatch);
+        if (buffer != null) {
+            arrayFactory.desctruct(buffer);
+        }
+    }
+
+    private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, ArrayModel<T> buffer, Registry recs,
+            Stopwatch stopwatch) {
+        if (last - first < 2 || sortSmall(target, comparator, first, last - 1)) {
+            return;
+        }
+        int middle = first + (last - first) / 2;
+        registerRecursiveCall(recs);
+        sort(target, comparator, first, middle, buffer, recs, stopwatch);
+        registerRecursiveReturn(recs);
+        registerRecursiveCall(recs);
+        sort(target, comparator, middle, last, buffer, recs, stopwatch);
+        registerRecursiveReturn(recs);
+        merge(target, comparator, first, middle, last, buffer, recs);
+        stopwatch.check();
+    }
+
+    private <T> void merge(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int middle, int last, ArrayModel<T> buffer,
+            Registry recs) {
+        if (first >= middle || middle >= last
+                || isOrdered(target, comparator, middle - 1)) {
+            return;
+        }
+        int leftSize = middle - first;
+        int rightSize = last - middle;
+        int bufferSize = buffer != null ? buffer.getSize() : 0;
+        if (leftSize <= bufferSize) {
+            mergeForward(target, comparator, first, middle, last, buffer);
+            return;
+        }
+        if (rightSize <= bufferSize) {
+            mergeBackward(target, comparator, first, middle, last, buffer);
+            return;
+        }
+        int leftCut;
+        int rightCut;
+        if (leftSize >= rightSize) {
+            leftCut = first + leftSize / 2;
+            rightCut = findLower(target, comparator, middle, last,
+                    target.read(leftCut));
+        } else {
+            rightCut = middle + rightSize / 2;
+            leftCut = findUpper(target, comparator, first, middle,
+                    target.read(rightCut));
+        }
+        int newMiddle = rotate(target, leftCut, middle, rightCut);
+        registerRecursiveCall(recs);
+        merge(target, comparator, first, leftCut, newMiddle, buffer, recs);
+        registerRecursiveReturn(recs);
+        registerRecursiveCall(recs);
+        merge(target, comparator, newMiddle, rightCut, last, buffer, recs);
+        registerRecursiveReturn(recs);
+    }
+
+    private <T> void mergeForward(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int middle, int last,
+            ArrayModel<T> buffer) {
+        int leftSize = middle - first;
+        copy(target, first, middle - 1, buffer, 0);
+        int left = 0;
+        int right = middle;
+        int i = first;
+        T leftItem = buffer.read(left);
+        T rightItem = target.read(right);
+        while (true) {
+            if (CommonHelper.compare(comparator, rightItem, leftItem) < 0) {
+                target.write(i++, rightItem);
+                if (++right == last) {
+                    break;
+                }
+                rightItem = target.read(right);
+            } else {
+                target.write(i++, leftItem);
+                if (++left == leftSize) {
+                    return;
+                }
+                leftItem = buffer.read(left);
+            }
+        }
+        copy(buffer, left, leftSize - 1, target, i);
+    }
+
+    private <T> void mergeBackward(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int middle, int last,
+            ArrayModel<T> buffer) {
+        int rightSize = last - middle;
+        copy(target, middle, last - 1, buffer, 0);
+        int left = middle - 1;
+        int right = rightSize - 1;
+        int i = last - 1;
+        T leftItem = target.read(left);
+        T rightItem = buffer.read(right);
+        while (true) {
+            if (CommonHelper.compare(comparator, rightItem, leftItem) < 0) {
+                target.write(i--, leftItem);
+                if (--left < first) {
+                    break;
+                }
+                leftItem = target.read(left);
+            } else {
+                target.write(i--, rightItem);
+                if (--right < 0) {
+                    return;
+                }
+                rightItem = buffer.read(right);
+            }
+        }
+        copy(buffer, 0, right, target, first);
+    }
+
+    private <T> int findLower(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, T item) {
+        while (first < last) {
+            int middle = (first + last) >>> 1;
+            if (CommonHelper.compare(comparator, target.read(middle), item) < 0) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return first;
+    }
+
+    private <T> int findUpper(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, T item) {
+        while (first < last) {
+            int middle = (first + last) >>> 1;
+            if (CommonHelper.compare(comparator, item, target.read(middle)) < 0) {
+                last = middle;
+            } else {
+                first = middle + 1;
+            }
+        }
+        return first;
+    }
+
+    private <T> int rotate(ArrayModel<T> target, int first, int middle,
+            int last) {
+        if (first < middle && middle < last) {
+            reverse(target, first, middle - 1);
+            reverse(target, middle, last - 1);
+            reverse(target, first, last - 1);
+        }
+        return first + (last - middle);
+    }
+
+    private <T> void reverse(ArrayModel<T> target, int first, int last) {
+        while (first < last) {
+            swap(target, first++, last--);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+
+/**
+ * D. Musser introspective sorting algorithm implementation.
+ * The "quicksort" method is used until the recursion depth registered at
+ * the recursive call registry exceeds "2 * log2(n)", then the subarray is
+ * sorted with the heap based method. Subarrays not exceeding the cutoff
+ * are sorted with the insertions method. Heap based fallbacks are provided
+ * as statistics, since frequent ones reveal poor pivot sampling.
+ *
+ * @see FootprintSorter
+ * @see PartitionSorter
+ * @see ReportingSorter
+ *
+ * @version 1.05, 27 October 2013
+ * @since 05 October 2013
+ * @author Ilya Gubarev
+ */
+public final class IntroSorter extends PartitionSorter
+        implements FootprintSorter, ReportingSorter {
+
+    public static final String HEAP_FALLBACKS = "heap sort fallbacks";
+
+    private final Sampling _sampling;
+
+    private long _heapFallbacks;
+
+    /**
+     * Creates a new instance of IntroSorter with median of three pivot
+     * sampling.
+     */
+    public IntroSorter() {
+        this(Sampling.MEDIAN_OF_THREE);
+    }
+
+    /**
+     * Creates a new instance of IntroSorter.
+     *
+     * @param sampling pivot sampling type.
+     *
+     * @see Sampling
+     */
+    public IntroSorter(Sampling sampling) {
+        super(INTROSPECTIVE_CUTOFF);
+        if (sampling == null) {
+            throw new NullPointerException("sampling type is null");
+        }
+        _sampling = sampling;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Introspective method (%s)", _sampling);
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return 0;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(HEAP_FALLBACKS, (double) _heapFallbacks);
+        return result;
+    }
+
+    @Override
+    public synchronized <T> void sort(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        _heapFallbacks = 0;
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        double depthLimit = recursions.getTotal() + 2 * log2(size);
+        sort(target, comparator, 0, size - 1, depthLimit, recursions,
+                stopwatch);
+    }
+
+    private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, double depthLimit, Registry recs,
+            Stopwatch stopwatch) {
+        if (last <= first || sortSmall(target, comparator, first, last)) {
+            return;
+        }
+        if (recs.getTotal() >= depthLimit) {
+            _heapFallbacks++;
+            heapSort(target, comparator, first, last, stopwatch);
+            return;
+        }
+        int pivot = separate(target, comparator, first, last, _sampling);
+        registerRecursiveCall(recs);
+        sort(target, comparator, first, pivot - 1, depthLimit, recs,
+                stopwatch);
+        registerRecursiveReturn(recs);
+        registerRecursiveCall(recs);
+        sort(target, comparator, pivot + 1, last, depthLimit, recs,
+                stopwatch);
+        registerRecursiveReturn(recs);
+    }
+
+    private int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
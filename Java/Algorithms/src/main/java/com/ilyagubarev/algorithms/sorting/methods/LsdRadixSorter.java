@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.keys.KeyExtractor;
+
+/**
+ * Least significant digit first radix sorting algorithm implementation.
+ * Items are ordered by signed numeric keys of the specified width which
+ * are provided by a key extractor, custom comparators are not supported.
+ * Single auxillary array is reused by all passes, passes with all keys
+ * having the same digit are skipped.
+ *
+ * @see AbstractSorter
+ * @see KeyExtractor
+ *
+ * @version 1.02, 27 October 2013
+ * @since 07 October 2013
+ * @author Ilya Gubarev
+ */
+public final class LsdRadixSorter extends AbstractSorter {
+
+    public static final int INTEGER_KEY_BITS = 32;
+    public static final int LONG_KEY_BITS = 64;
+    public static final int DEFAULT_DIGIT_BITS = 8;
+    public static final int MAX_DIGIT_BITS = 16;
+
+    private final KeyExtractor<?> _extractor;
+    private final int _keyBits;
+    private final int _digitBits;
+
+    /**
+     * Creates a new instance of LsdRadixSorter with 8-bit digits.
+     *
+     * @param extractor item key extractor.
+     * @param keyBits key width in bits (keys must fit it).
+     * @throws IllegalArgumentException if key width is illegal.
+     *
+     * @see KeyExtractor
+     */
+    public LsdRadixSorter(KeyExtractor<?> extractor, int keyBits) {
+        this(extractor, keyBits, DEFAULT_DIGIT_BITS);
+    }
+
+    /**
+     * Creates a new instance of LsdRadixSorter.
+     *
+     * @param extractor item key extractor.
+     * @param keyBits key width in bits (keys must fit it).
+     * @param digitBits digit width in bits.
+     * @throws IllegalArgumentException if key or digit width is illegal.
+     *
+     * @see KeyExtractor
+     */
+    public LsdRadixSorter(KeyExtractor<?> extractor, int keyBits,
+            int digitBits) {
+        if (extractor == null) {
+            throw new NullPointerException("key extractor is null");
+        }
+        if (keyBits < 1 || keyBits > LONG_KEY_BITS) {
+            throw new IllegalArgumentException("key width is illegal");
+        }
+        if (digitBits < 1 || digitBits > MAX_DIGIT_BITS) {
+            throw new IllegalArgumentException("digit width is illegal");
+        }
+        _extractor = extractor;
+        _keyBits = keyBits;
+        _digitBits = digitBits;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("LSD radix method (%s, %d-bit keys, "
+                + "%d-bit digits)", _extractor.getInfo(), _keyBits,
+                _digitBits);
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        if (comparator != null) {
+            throw new IllegalArgumentException("comparator is not supported");
+        }
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        ArrayModel<T> aux = arrayFactory.create(size);
+        ArrayModel<T> source = target;
+        ArrayModel<T> destination = aux;
+        int[] counts = new int[(1 << _digitBits) + 1];
+        for (int shift = 0; shift < _keyBits; shift += _digitBits) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; ++i) {
+                counts[getDigit(source.read(i), shift) + 1]++;
+            }
+            if (isUniform(counts, size)) {
+                continue;
+            }
+            for (int d = 1; d < counts.length; ++d) {
+                counts[d] += counts[d - 1];
+            }
+            for (int i = 0; i < size; ++i) {
+                T item = source.read(i);
+                destination.write(counts[getDigit(item, shift)]++, item);
+            }
+            ArrayModel<T> buffer = source;
+            source = destination;
+            destination = buffer;
+            stopwatch.check();
+        }
+        if (source != target) {
+            for (int i = 0; i < size; ++i) {
+                target.write(i, source.read(i));
+            }
+        }
+        arrayFactory.desctruct(aux);
+    }
+
+    private <T> int getDigit(T item, int shift) {
+        long key = getKey(item);
+        if (_keyBits < LONG_KEY_BITS) {
+            key &= (1L << _keyBits) - 1;
+        }
+        key ^= 1L << (_keyBits - 1);
+        return (int) ((key >>> shift) & ((1 << _digitBits) - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long getKey(T item) {
+        return ((KeyExtractor<T>) _extractor).getKey(item);
+    }
+
+    private boolean isUniform(int[] counts, int size) {
+        for (int count : counts) {
+            if (count == size) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -25,12 +25,29 @@ import com.ilyagubarev.algorithms.utils.CommonHelper;
  *
  * @see AbstractSorting
  *
- * @version 1.02, 20 September 2013
+ * @version 1.05, 17 October 2013
  * @since 15 September 2013
  * @author Ilya Gubarev
  */
 public abstract class MergeSorter extends AbstractSorter {
 
+    /**
+     * Creates a new instance of MergeSorter without small subarrays cutoff.
+     */
+    protected MergeSorter() {
+
+    }
+
+    /**
+     * Creates a new instance of MergeSorter.
+     *
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if the cutoff is negative.
+     */
+    protected MergeSorter(int cutoff) {
+        super(cutoff);
+    }
+
     protected final <T> void merge(ArrayModel<T> target,
             Comparator<T> comparator, int leftFirst, int leftLast,
             int rightLast, ArrayModel<T> aux) {
@@ -57,4 +74,88 @@ public abstract class MergeSorter extends AbstractSorter {
             }
         }
     }
+
+    /**
+     * Merges two sorted ranges of the source into the destination without
+     * any intermediate copying. Equal items of the left range precede ones
+     * of the right range.
+     *
+     * @param source source array model.
+     * @param comparator an item comparator.
+     * @param leftFirst an index of the first item of the left range.
+     * @param leftLast an index of the last item of the left range.
+     * @param rightFirst an index of the first item of the right range.
+     * @param rightLast an index of the last item of the right range.
+     * @param destination destination array model.
+     * @param first an index of the first destination item.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> void merge(ArrayModel<T> source,
+            Comparator<T> comparator, int leftFirst, int leftLast,
+            int rightFirst, int rightLast, ArrayModel<T> destination,
+            int first) {
+        int left = leftFirst;
+        int right = rightFirst;
+        int i = first;
+        if (left <= leftLast && right <= rightLast) {
+            T leftItem = source.read(left);
+            T rightItem = source.read(right);
+            while (true) {
+                if (CommonHelper.compare(comparator, rightItem, leftItem) < 0) {
+                    destination.write(i++, rightItem);
+                    if (++right > rightLast) {
+                        break;
+                    }
+                    rightItem = source.read(right);
+                } else {
+                    destination.write(i++, leftItem);
+                    if (++left > leftLast) {
+                        break;
+                    }
+                    leftItem = source.read(left);
+                }
+            }
+        }
+        copy(source, left, leftLast, destination, i);
+        copy(source, right, rightLast, destination,
+                i + Math.max(leftLast - left + 1, 0));
+    }
+
+    /**
+     * Checks if two adjacent sorted ranges are already in order, so they
+     * need no merging.
+     *
+     * @param source source array model.
+     * @param comparator an item comparator.
+     * @param leftLast an index of the last item of the left range.
+     * @return true if the last item of the left range is not greater than
+     * the first item of the right range.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> boolean isOrdered(ArrayModel<T> source,
+            Comparator<T> comparator, int leftLast) {
+        return !less(source, comparator, leftLast + 1, leftLast);
+    }
+
+    /**
+     * Copies a range of the source into the destination.
+     *
+     * @param source source array model.
+     * @param first an index of the first item of the range.
+     * @param last an index of the last item of the range.
+     * @param destination destination array model.
+     * @param destinationFirst an index of the first destination item.
+     *
+     * @see ArrayModel
+     */
+    protected final <T> void copy(ArrayModel<T> source, int first, int last,
+            ArrayModel<T> destination, int destinationFirst) {
+        for (int i = first; i <= last; ++i) {
+            destination.write(destinationFirst + i - first, source.read(i));
+        }
+    }
 }
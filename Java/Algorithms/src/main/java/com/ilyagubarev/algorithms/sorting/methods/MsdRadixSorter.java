@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.keys.CharExtractor;
+
+/**
+ * Most significant digit first radix sorting algorithm implementation for
+ * string keys. Subarrays are distributed by key-indexed counting on the
+ * current character and sorted recursively on the next one, small
+ * subarrays are sorted with insertions method. Count arrays are allocated
+ * once per character position and reused by all subarrays of that depth.
+ *
+ * @see StringSorter
+ *
+ * @version 1.04, 27 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public final class MsdRadixSorter extends StringSorter {
+
+    public static final int DEFAULT_ALPHABET_SIZE = 256;
+    public static final int DEFAULT_CUTOFF = 15;
+
+    private final int _alphabetSize;
+
+    /**
+     * Creates a new instance of MsdRadixSorter for extended ASCII keys.
+     *
+     * @param extractor item key character extractor.
+     *
+     * @see CharExtractor
+     */
+    public MsdRadixSorter(CharExtractor<?> extractor) {
+        this(extractor, DEFAULT_ALPHABET_SIZE, DEFAULT_CUTOFF);
+    }
+
+    /**
+     * Creates a new instance of MsdRadixSorter.
+     *
+     * @param extractor item key character extractor.
+     * @param alphabetSize amount of distinct characters (codes from zero).
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if alphabet size or cutoff is illegal.
+     *
+     * @see CharExtractor
+     */
+    public MsdRadixSorter(CharExtractor<?> extractor, int alphabetSize,
+            int cutoff) {
+        super(extractor, cutoff);
+        if (alphabetSize < 1 || alphabetSize > Character.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("alphabet size is illegal");
+        }
+        _alphabetSize = alphabetSize;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("MSD radix method (%s, alphabet: %d)",
+                getExtractorInfo(), _alphabetSize);
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        throwExceptionIfComparator(comparator);
+        if (target.getSize() < 2) {
+            return;
+        }
+        ArrayModel<T> aux = arrayFactory.create(target.getSize());
+        List<int[]> counts = new ArrayList<int[]>();
+        sort(target, 0, target.getSize() - 1, 0, aux, counts, recursions,
+                stopwatch);
+        arrayFactory.desctruct(aux);
+    }
+
+    private <T> void sort(ArrayModel<T> target, int first, int last,
+            int depth, ArrayModel<T> aux, List<int[]> levels, Registry recs,
+            Stopwatch stopwatch) {
+        if (last - first < getCutoff()) {
+            insertionSort(target, first, last, depth);
+            return;
+        }
+        int[] counts = getCounts(levels, depth);
+        for (int i = first; i <= last; ++i) {
+            counts[getDigit(target.read(i), depth) + 2]++;
+        }
+        for (int r = 0; r <= _alphabetSize; ++r) {
+            counts[r + 1] += counts[r];
+        }
+        for (int i = first; i <= last; ++i) {
+            T item = target.read(i);
+            aux.write(counts[getDigit(item, depth) + 1]++, item);
+        }
+        for (int i = first; i <= last; ++i) {
+            target.write(i, aux.read(i - first));
+        }
+        stopwatch.check();
+        for (int r = 0; r < _alphabetSize; ++r) {
+            if (counts[r + 1] - counts[r] > 1) {
+                registerRecursiveCall(recs);
+                sort(target, first + counts[r], first + counts[r + 1] - 1,
+                        depth + 1, aux, levels, recs, stopwatch);
+                registerRecursiveReturn(recs);
+            }
+        }
+    }
+
+    private int[] getCounts(List<int[]> levels, int depth) {
+        if (depth == levels.size()) {
+            levels.add(new int[_alphabetSize + 2]);
+            return levels.get(depth);
+        }
+        int[] result = levels.get(depth);
+        Arrays.fill(result, 0);
+        return result;
+    }
+
+    private int getDigit(Object item, int depth) {
+        int result = charAt(item, depth);
+        if (result >= _alphabetSize) {
+            throw new IllegalStateException("character is out of alphabet");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,541 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Adaptive natural merge method sorting algorithm implementation based on
+ * T. Peters "timsort". Ascending and strictly descending runs are detected
+ * (descending ones are reversed), short runs are extended with binary
+ * insertions up to the minimal run length, pending runs are kept at a stack
+ * satisfying "timsort" invariants and merged with galloping. Auxillary
+ * array is sized to the shorter of two runs being merged only.
+ *
+ * @see MergeSorter
+ *
+ * @version 1.01, 06 October 2013
+ * @since 06 October 2013
+ * @author Ilya Gubarev
+ */
+public final class NaturalMergeSorter extends MergeSorter {
+
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    private static final int MAX_RUNS = 49;
+
+    @Override
+    public String getInfo() {
+        return "Natural merge method with galloping";
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        Merger<T> merger = new Merger<T>(target, comparator, arrayFactory);
+        int minRun = getMinRunLength(size);
+        int first = 0;
+        int remaining = size;
+        do {
+            int run = merger.detectRun(first, size);
+            if (run < minRun) {
+                int forced = Math.min(remaining, minRun);
+                merger.insert(first, first + forced, first + run);
+                run = forced;
+            }
+            merger.push(first, run);
+            merger.collapse();
+            first += run;
+            remaining -= run;
+            stopwatch.check();
+        } while (remaining != 0);
+        merger.collapseAll();
+        merger.release();
+    }
+
+    private int getMinRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= (n & 1);
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    private final class Merger<T> {
+
+        private final ArrayModel<T> _target;
+        private final Comparator<T> _comparator;
+        private final ArrayModelFactory _factory;
+        private final int[] _runFirst;
+        private final int[] _runLength;
+
+        private ArrayModel<T> _aux;
+        private int _minGallop;
+        private int _runs;
+
+        Merger(ArrayModel<T> target, Comparator<T> comparator,
+                ArrayModelFactory factory) {
+            _target = target;
+            _comparator = comparator;
+            _factory = factory;
+            _runFirst = new int[MAX_RUNS];
+            _runLength = new int[MAX_RUNS];
+            _minGallop = MIN_GALLOP;
+        }
+
+        int detectRun(int first, int end) {
+            int last = first + 1;
+            if (last == end) {
+                return 1;
+            }
+            if (compare(_target.read(last++), _target.read(first)) < 0) {
+                while (last < end && compare(_target.read(last),
+                        _target.read(last - 1)) < 0) {
+                    last++;
+                }
+                reverse(first, last - 1);
+            } else {
+                while (last < end && compare(_target.read(last),
+                        _target.read(last - 1)) >= 0) {
+                    last++;
+                }
+            }
+            return last - first;
+        }
+
+        void insert(int first, int end, int start) {
+            if (start == first) {
+                start++;
+            }
+            for (; start < end; start++) {
+                T pivot = _target.read(start);
+                int left = first;
+                int right = start;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (compare(pivot, _target.read(middle)) < 0) {
+                        right = middle;
+                    } else {
+                        left = middle + 1;
+                    }
+                }
+                copy(_target, left, _target, left + 1, start - left);
+                _target.write(left, pivot);
+            }
+        }
+
+        void push(int first, int length) {
+            _runFirst[_runs] = first;
+            _runLength[_runs] = length;
+            _runs++;
+        }
+
+        void collapse() {
+            while (_runs > 1) {
+                int n = _runs - 2;
+                if (n > 0 && _runLength[n - 1] <= _runLength[n]
+                        + _runLength[n + 1] || n > 1 && _runLength[n - 2]
+                        <= _runLength[n] + _runLength[n - 1]) {
+                    if (_runLength[n - 1] < _runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (_runLength[n] > _runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        void collapseAll() {
+            while (_runs > 1) {
+                int n = _runs - 2;
+                if (n > 0 && _runLength[n - 1] < _runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        void release() {
+            if (_aux != null) {
+                _factory.desctruct(_aux);
+                _aux = null;
+            }
+        }
+
+        private void mergeAt(int i) {
+            int first1 = _runFirst[i];
+            int length1 = _runLength[i];
+            int first2 = _runFirst[i + 1];
+            int length2 = _runLength[i + 1];
+            _runLength[i] = length1 + length2;
+            if (i == _runs - 3) {
+                _runFirst[i + 1] = _runFirst[i + 2];
+                _runLength[i + 1] = _runLength[i + 2];
+            }
+            _runs--;
+            int k = gallopRight(_target.read(first2), _target, first1,
+                    length1, 0);
+            first1 += k;
+            length1 -= k;
+            if (length1 == 0) {
+                return;
+            }
+            length2 = gallopLeft(_target.read(first1 + length1 - 1), _target,
+                    first2, length2, length2 - 1);
+            if (length2 == 0) {
+                return;
+            }
+            if (length1 <= length2) {
+                mergeLow(first1, length1, first2, length2);
+            } else {
+                mergeHigh(first1, length1, first2, length2);
+            }
+        }
+
+        private void mergeLow(int first1, int length1, int first2,
+                int length2) {
+            ArrayModel<T> aux = getAux(length1);
+            copy(_target, first1, aux, 0, length1);
+            int cursor1 = 0;
+            int cursor2 = first2;
+            int dest = first1;
+            _target.write(dest++, _target.read(cursor2++));
+            if (--length2 == 0) {
+                copy(aux, cursor1, _target, dest, length1);
+                return;
+            }
+            if (length1 == 1) {
+                copy(_target, cursor2, _target, dest, length2);
+                _target.write(dest + length2, aux.read(cursor1));
+                return;
+            }
+            int minGallop = _minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    T item2 = _target.read(cursor2);
+                    T item1 = aux.read(cursor1);
+                    if (compare(item2, item1) < 0) {
+                        _target.write(dest++, item2);
+                        cursor2++;
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        _target.write(dest++, item1);
+                        cursor1++;
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+                do {
+                    count1 = gallopRight(_target.read(cursor2), aux, cursor1,
+                            length1, 0);
+                    if (count1 != 0) {
+                        copy(aux, cursor1, _target, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        length1 -= count1;
+                        if (length1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    _target.write(dest++, _target.read(cursor2++));
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                    count2 = gallopLeft(aux.read(cursor1), _target, cursor2,
+                            length2, 0);
+                    if (count2 != 0) {
+                        copy(_target, cursor2, _target, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        length2 -= count2;
+                        if (length2 == 0) {
+                            break outer;
+                        }
+                    }
+                    _target.write(dest++, aux.read(cursor1++));
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+            _minGallop = minGallop < 1 ? 1 : minGallop;
+            if (length1 == 1) {
+                copy(_target, cursor2, _target, dest, length2);
+                _target.write(dest + length2, aux.read(cursor1));
+            } else if (length1 == 0) {
+                throw new IllegalArgumentException(
+                        "comparator violates its general contract");
+            } else {
+                copy(aux, cursor1, _target, dest, length1);
+            }
+        }
+
+        private void mergeHigh(int first1, int length1, int first2,
+                int length2) {
+            ArrayModel<T> aux = getAux(length2);
+            copy(_target, first2, aux, 0, length2);
+            int cursor1 = first1 + length1 - 1;
+            int cursor2 = length2 - 1;
+            int dest = first2 + length2 - 1;
+            _target.write(dest--, _target.read(cursor1--));
+            if (--length1 == 0) {
+                copy(aux, 0, _target, dest - (length2 - 1), length2);
+                return;
+            }
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                copy(_target, cursor1 + 1, _target, dest + 1, length1);
+                _target.write(dest, aux.read(cursor2));
+                return;
+            }
+            int minGallop = _minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    T item2 = aux.read(cursor2);
+                    T item1 = _target.read(cursor1);
+                    if (compare(item2, item1) < 0) {
+                        _target.write(dest--, item1);
+                        cursor1--;
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        _target.write(dest--, item2);
+                        cursor2--;
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+                do {
+                    count1 = length1 - gallopRight(aux.read(cursor2), _target,
+                            first1, length1, length1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        length1 -= count1;
+                        copy(_target, cursor1 + 1, _target, dest + 1, count1);
+                        if (length1 == 0) {
+                            break outer;
+                        }
+                    }
+                    _target.write(dest--, aux.read(cursor2--));
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                    count2 = length2 - gallopLeft(_target.read(cursor1), aux,
+                            0, length2, length2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        length2 -= count2;
+                        copy(aux, cursor2 + 1, _target, dest + 1, count2);
+                        if (length2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    _target.write(dest--, _target.read(cursor1--));
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+            _minGallop = minGallop < 1 ? 1 : minGallop;
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                copy(_target, cursor1 + 1, _target, dest + 1, length1);
+                _target.write(dest, aux.read(cursor2));
+            } else if (length2 == 0) {
+                throw new IllegalArgumentException(
+                        "comparator violates its general contract");
+            } else {
+                copy(aux, 0, _target, dest - (length2 - 1), length2);
+            }
+        }
+
+        private int gallopLeft(T key, ArrayModel<T> array, int first,
+                int length, int hint) {
+            int lastOffset = 0;
+            int offset = 1;
+            if (compare(key, array.read(first + hint)) > 0) {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && compare(key,
+                        array.read(first + hint + offset)) > 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && compare(key,
+                        array.read(first + hint - offset)) <= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                int buffer = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - buffer;
+            }
+            lastOffset++;
+            while (lastOffset < offset) {
+                int middle = lastOffset + ((offset - lastOffset) >>> 1);
+                if (compare(key, array.read(first + middle)) > 0) {
+                    lastOffset = middle + 1;
+                } else {
+                    offset = middle;
+                }
+            }
+            return offset;
+        }
+
+        private int gallopRight(T key, ArrayModel<T> array, int first,
+                int length, int hint) {
+            int lastOffset = 0;
+            int offset = 1;
+            if (compare(key, array.read(first + hint)) < 0) {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && compare(key,
+                        array.read(first + hint - offset)) < 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                int buffer = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - buffer;
+            } else {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && compare(key,
+                        array.read(first + hint + offset)) >= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                if (offset > maxOffset) {
+                    offset = maxOffset;
+                }
+                lastOffset += hint;
+                offset += hint;
+            }
+            lastOffset++;
+            while (lastOffset < offset) {
+                int middle = lastOffset + ((offset - lastOffset) >>> 1);
+                if (compare(key, array.read(first + middle)) < 0) {
+                    offset = middle;
+                } else {
+                    lastOffset = middle + 1;
+                }
+            }
+            return offset;
+        }
+
+        private ArrayModel<T> getAux(int size) {
+            if (_aux == null || _aux.getSize() < size) {
+                release();
+                _aux = _factory.create(size);
+            }
+            return _aux;
+        }
+
+        private void reverse(int first, int last) {
+            while (first < last) {
+                swap(_target, first++, last--);
+            }
+        }
+
+        private void copy(ArrayModel<T> source, int sourceFirst,
+                ArrayModel<T> destination, int destinationFirst, int length) {
+            if (source == destination && sourceFirst < destinationFirst) {
+                for (int i = length - 1; i >= 0; --i) {
+                    destination.write(destinationFirst + i,
+                            source.read(sourceFirst + i));
+                }
+            } else {
+                for (int i = 0; i < length; ++i) {
+                    destination.write(destinationFirst + i,
+                            source.read(sourceFirst + i));
+                }
+            }
+        }
+
+        private int compare(T first, T second) {
+            return CommonHelper.compare(_comparator, first, second);
+        }
+    }
+}
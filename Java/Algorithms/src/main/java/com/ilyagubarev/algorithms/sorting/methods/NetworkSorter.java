@@ -0,0 +1,532 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.networks.SortingNetworks;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Sorting network method implementation for arrays of up to 16 items.
+ * Every size has its own unrolled sequence of compare-exchanges of the
+ * least known length, so no loops are executed and comparisons count does
+ * not depend on the order of items. Order of equal items is not preserved,
+ * arrays of more than 16 items are rejected.
+ *
+ * @see AbstractSorter
+ * @see FootprintSorter
+ * @see SortingNetworks
+ *
+ * @version 1.01, 24 October 2013
+ * @since 24 October 2013
+ * @author Ilya Gubarev
+ */
+public final class NetworkSorter extends AbstractSorter
+        implements FootprintSorter {
+
+    @Override
+    public String getInfo() {
+        return "Sorting network method";
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return 0;
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        sort(target, comparator, 0, target.getSize());
+    }
+
+    /**
+     * Sorts specified subarray by the sorting network of its size.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param size items count of the subarray.
+     * @throws IllegalArgumentException if the size exceeds the max size of
+     * sorting networks.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    static <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int size) {
+        if (size > SortingNetworks.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    "size exceeds sorting network max size");
+        }
+        switch (size) {
+            case 2:
+                exchange(target, comparator, first, first + 1);
+                break;
+            case 3:
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 1, first + 2);
+                break;
+            case 4:
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 1, first + 2);
+                break;
+            case 5:
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 2, first + 3);
+                break;
+            case 6:
+                exchange(target, comparator, first, first + 5);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                break;
+            case 7:
+                exchange(target, comparator, first, first + 6);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                break;
+            case 8:
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first, first + 4);
+                exchange(target, comparator, first + 1, first + 5);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 3, first + 7);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                break;
+            case 9:
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 4, first + 8);
+                exchange(target, comparator, first, first + 7);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 8);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                break;
+            case 10:
+                exchange(target, comparator, first, first + 8);
+                exchange(target, comparator, first + 1, first + 9);
+                exchange(target, comparator, first + 2, first + 7);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 5, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 1, first + 5);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 8);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                break;
+            case 11:
+                exchange(target, comparator, first, first + 8);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 4, first + 10);
+                exchange(target, comparator, first + 5, first + 9);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 6);
+                exchange(target, comparator, first + 5, first + 10);
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 10);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                break;
+            case 12:
+                exchange(target, comparator, first, first + 8);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 3, first + 11);
+                exchange(target, comparator, first + 4, first + 10);
+                exchange(target, comparator, first + 5, first + 9);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 10, first + 11);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 6);
+                exchange(target, comparator, first + 5, first + 10);
+                exchange(target, comparator, first + 9, first + 11);
+                exchange(target, comparator, first, first + 3);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 8, first + 11);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 10);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                break;
+            case 13:
+                exchange(target, comparator, first, first + 12);
+                exchange(target, comparator, first + 1, first + 10);
+                exchange(target, comparator, first + 2, first + 9);
+                exchange(target, comparator, first + 3, first + 7);
+                exchange(target, comparator, first + 5, first + 11);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 1, first + 6);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 11);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first, first + 4);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 9);
+                exchange(target, comparator, first + 8, first + 11);
+                exchange(target, comparator, first + 10, first + 12);
+                exchange(target, comparator, first, first + 5);
+                exchange(target, comparator, first + 3, first + 8);
+                exchange(target, comparator, first + 4, first + 7);
+                exchange(target, comparator, first + 6, first + 11);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 5);
+                exchange(target, comparator, first + 6, first + 9);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 10, first + 11);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                break;
+            case 14:
+                exchange(target, comparator, first, first + 13);
+                exchange(target, comparator, first + 1, first + 12);
+                exchange(target, comparator, first + 4, first + 8);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 11);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first, first + 5);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 9);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 6, first + 13);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 11);
+                exchange(target, comparator, first + 12, first + 13);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 4, first + 10);
+                exchange(target, comparator, first + 5, first + 11);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 12);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first + 9, first + 11);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 5, first + 8);
+                exchange(target, comparator, first + 7, first + 10);
+                exchange(target, comparator, first + 9, first + 13);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 9, first + 12);
+                exchange(target, comparator, first + 11, first + 13);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 12);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                break;
+            case 15:
+                exchange(target, comparator, first, first + 13);
+                exchange(target, comparator, first + 1, first + 12);
+                exchange(target, comparator, first + 3, first + 14);
+                exchange(target, comparator, first + 4, first + 8);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 11);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first, first + 5);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 9);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 6, first + 13);
+                exchange(target, comparator, first + 8, first + 14);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 11);
+                exchange(target, comparator, first + 12, first + 13);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 4, first + 10);
+                exchange(target, comparator, first + 5, first + 11);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 12, first + 14);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 12);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first + 9, first + 11);
+                exchange(target, comparator, first + 13, first + 14);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 5, first + 8);
+                exchange(target, comparator, first + 7, first + 10);
+                exchange(target, comparator, first + 9, first + 13);
+                exchange(target, comparator, first + 11, first + 14);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 9, first + 12);
+                exchange(target, comparator, first + 11, first + 13);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 12);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                break;
+            case 16:
+                exchange(target, comparator, first, first + 13);
+                exchange(target, comparator, first + 1, first + 12);
+                exchange(target, comparator, first + 2, first + 15);
+                exchange(target, comparator, first + 3, first + 14);
+                exchange(target, comparator, first + 4, first + 8);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 11);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first, first + 5);
+                exchange(target, comparator, first + 1, first + 7);
+                exchange(target, comparator, first + 2, first + 9);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 6, first + 13);
+                exchange(target, comparator, first + 8, first + 14);
+                exchange(target, comparator, first + 10, first + 15);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first, first + 1);
+                exchange(target, comparator, first + 2, first + 3);
+                exchange(target, comparator, first + 4, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 11);
+                exchange(target, comparator, first + 12, first + 13);
+                exchange(target, comparator, first + 14, first + 15);
+                exchange(target, comparator, first, first + 2);
+                exchange(target, comparator, first + 1, first + 3);
+                exchange(target, comparator, first + 4, first + 10);
+                exchange(target, comparator, first + 5, first + 11);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                exchange(target, comparator, first + 12, first + 14);
+                exchange(target, comparator, first + 13, first + 15);
+                exchange(target, comparator, first + 1, first + 2);
+                exchange(target, comparator, first + 3, first + 12);
+                exchange(target, comparator, first + 4, first + 6);
+                exchange(target, comparator, first + 5, first + 7);
+                exchange(target, comparator, first + 8, first + 10);
+                exchange(target, comparator, first + 9, first + 11);
+                exchange(target, comparator, first + 13, first + 14);
+                exchange(target, comparator, first + 1, first + 4);
+                exchange(target, comparator, first + 2, first + 6);
+                exchange(target, comparator, first + 5, first + 8);
+                exchange(target, comparator, first + 7, first + 10);
+                exchange(target, comparator, first + 9, first + 13);
+                exchange(target, comparator, first + 11, first + 14);
+                exchange(target, comparator, first + 2, first + 4);
+                exchange(target, comparator, first + 3, first + 6);
+                exchange(target, comparator, first + 9, first + 12);
+                exchange(target, comparator, first + 11, first + 13);
+                exchange(target, comparator, first + 3, first + 5);
+                exchange(target, comparator, first + 6, first + 8);
+                exchange(target, comparator, first + 7, first + 9);
+                exchange(target, comparator, first + 10, first + 12);
+                exchange(target, comparator, first + 3, first + 4);
+                exchange(target, comparator, first + 5, first + 6);
+                exchange(target, comparator, first + 7, first + 8);
+                exchange(target, comparator, first + 9, first + 10);
+                exchange(target, comparator, first + 11, first + 12);
+                exchange(target, comparator, first + 6, first + 7);
+                exchange(target, comparator, first + 8, first + 9);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static <T> void exchange(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int second) {
+        T item1 = target.read(first);
+        T item2 = target.read(second);
+        if (CommonHelper.compare(comparator, item2, item1) < 0) {
+            target.write(first, item2);
+            target.write(second, item1);
+        }
+    }
+}
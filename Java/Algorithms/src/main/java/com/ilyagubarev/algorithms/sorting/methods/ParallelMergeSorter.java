@@ -0,0 +1,266 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Parallel merge method sorting algorithm implementation based on
+ * fork/join framework. Subarrays are split recursively until the sequential
+ * threshold is reached, sorted halves are merged in parallel by splitting
+ * the larger half in the middle and the smaller one at a binary searched
+ * position. The roles of the target and the auxillary array are switched at
+ * every level, so no copying is performed before merges. Recursion registry
+ * tracks the total amount of active recursive calls of all worker threads.
+ *
+ * @see MergeSorter
+ *
+ * @version 1.03, 27 October 2013
+ * @since 03 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ParallelMergeSorter extends MergeSorter {
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final int _threshold;
+    private final ForkJoinPool _pool;
+
+    /**
+     * Creates a new instance of ParallelMergeSorter with default sequential
+     * threshold and common fork/join pool.
+     */
+    public ParallelMergeSorter() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance of ParallelMergeSorter with common fork/join
+     * pool.
+     *
+     * @param threshold max size of a subarray to be processed sequentially.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public ParallelMergeSorter(int threshold) {
+        this(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance of ParallelMergeSorter.
+     *
+     * @param threshold max size of a subarray to be processed sequentially.
+     * @param pool a fork/join pool to run tasks at.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     *
+     * @see ForkJoinPool
+     */
+    public ParallelMergeSorter(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold is not positive");
+        }
+        if (pool == null) {
+            throw new NullPointerException("fork/join pool is null");
+        }
+        _threshold = threshold;
+        _pool = pool;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Parallel merge method (threshold: %d)",
+                _threshold);
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        if (target.getSize() < 2) {
+            return;
+        }
+        ArrayModel<T> aux = arrayFactory.create(target.getSize());
+        _pool.invoke(new SortAction<T>(target, aux, comparator, 0,
+                target.getSize() - 1, false, recursions, stopwatch));
+        arrayFactory.desctruct(aux);
+    }
+
+    private final class SortAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayModel<T> _target;
+        private final ArrayModel<T> _aux;
+        private final Comparator<T> _comparator;
+        private final int _first;
+        private final int _last;
+        private final boolean _toAux;
+        private final Registry _recursions;
+        private final Stopwatch _stopwatch;
+
+        SortAction(ArrayModel<T> target, ArrayModel<T> aux,
+                Comparator<T> comparator, int first, int last, boolean toAux,
+                Registry recursions, Stopwatch stopwatch) {
+            _target = target;
+            _aux = aux;
+            _comparator = comparator;
+            _first = first;
+            _last = last;
+            _toAux = toAux;
+            _recursions = recursions;
+            _stopwatch = stopwatch;
+        }
+
+        @Override
+        protected void compute() {
+            registerRecursiveCall(_recursions);
+            if (_last - _first < _threshold) {
+                sort(_target, _comparator, _first, _last, _aux, _recursions,
+                        _stopwatch);
+                if (_toAux) {
+                    for (int i = _first; i <= _last; ++i) {
+                        _aux.write(i, _target.read(i));
+                    }
+                }
+            } else {
+                int middle = _first + (_last - _first) / 2;
+                invokeAll(new SortAction<T>(_target, _aux, _comparator, _first,
+                        middle, !_toAux, _recursions, _stopwatch),
+                        new SortAction<T>(_target, _aux, _comparator,
+                        middle + 1, _last, !_toAux, _recursions, _stopwatch));
+                ArrayModel<T> source = _toAux ? _target : _aux;
+                ArrayModel<T> destination = _toAux ? _aux : _target;
+                new MergeAction<T>(source, destination, _comparator, _first,
+                        middle, middle + 1, _last, _first, _recursions,
+                        _stopwatch).compute();
+            }
+            registerRecursiveReturn(_recursions);
+        }
+    }
+
+    private final class MergeAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayModel<T> _source;
+        private final ArrayModel<T> _destination;
+        private final Comparator<T> _comparator;
+        private final int _leftFirst;
+        private final int _leftLast;
+        private final int _rightFirst;
+        private final int _rightLast;
+        private final int _first;
+        private final Registry _recursions;
+        private final Stopwatch _stopwatch;
+
+        MergeAction(ArrayModel<T> source, ArrayModel<T> destination,
+                Comparator<T> comparator, int leftFirst, int leftLast,
+                int rightFirst, int rightLast, int first, Registry recursions,
+                Stopwatch stopwatch) {
+            _source = source;
+            _destination = destination;
+            _comparator = comparator;
+            _leftFirst = leftFirst;
+            _leftLast = leftLast;
+            _rightFirst = rightFirst;
+            _rightLast = rightLast;
+            _first = first;
+            _recursions = recursions;
+            _stopwatch = stopwatch;
+        }
+
+        @Override
+        protected void compute() {
+            int leftSize = _leftLast - _leftFirst + 1;
+            int rightSize = _rightLast - _rightFirst + 1;
+            if (leftSize + rightSize <= _threshold) {
+                merge(_source, _comparator, _leftFirst, _leftLast,
+                        _rightFirst, _rightLast, _destination, _first);
+                _stopwatch.check();
+                return;
+            }
+            registerRecursiveCall(_recursions);
+            int leftSplit;
+            int rightSplit;
+            T pivot;
+            if (leftSize >= rightSize) {
+                leftSplit = _leftFirst + (_leftLast - _leftFirst) / 2;
+                pivot = _source.read(leftSplit);
+                rightSplit = search(pivot, _rightFirst, _rightLast, false);
+            } else {
+                rightSplit = _rightFirst + (_rightLast - _rightFirst) / 2;
+                pivot = _source.read(rightSplit);
+                leftSplit = search(pivot, _leftFirst, _leftLast, true);
+            }
+            int split = _first + (leftSplit - _leftFirst)
+                    + (rightSplit - _rightFirst);
+            _destination.write(split, pivot);
+            int leftNext = leftSize >= rightSize ? leftSplit + 1 : leftSplit;
+            int rightNext = leftSize >= rightSize ? rightSplit : rightSplit + 1;
+            invokeAll(new MergeAction<T>(_source, _destination, _comparator,
+                    _leftFirst, leftSplit - 1, _rightFirst, rightSplit - 1,
+                    _first, _recursions, _stopwatch),
+                    new MergeAction<T>(_source, _destination, _comparator,
+                    leftNext, _leftLast, rightNext, _rightLast, split + 1,
+                    _recursions, _stopwatch));
+            registerRecursiveReturn(_recursions);
+        }
+
+        private int search(T pivot, int first, int last, boolean inclusive) {
+            int low = first;
+            int high = last + 1;
+            while (low < high) {
+                int middle = low + (high - low) / 2;
+                int result = CommonHelper.compare(_comparator,
+                        _source.read(middle), pivot);
+                if (result < 0 || (inclusive && result == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int leftFirst, int rightLast, ArrayModel<T> aux,
+            Registry recursions, Stopwatch stopwatch) {
+        if (rightLast <= leftFirst
+                || sortSmall(target, comparator, leftFirst, rightLast)) {
+            return;
+        }
+        int leftLast = leftFirst + (rightLast - leftFirst) / 2;
+        registerRecursiveCall(recursions);
+        sort(target, comparator, leftFirst, leftLast, aux, recursions,
+                stopwatch);
+        registerRecursiveReturn(recursions);
+        registerRecursiveCall(recursions);
+        sort(target, comparator, leftLast + 1, rightLast, aux, recursions,
+                stopwatch);
+        registerRecursiveReturn(recursions);
+        merge(target, comparator, leftFirst, leftLast, rightLast, aux);
+        stopwatch.check();
+    }
+}
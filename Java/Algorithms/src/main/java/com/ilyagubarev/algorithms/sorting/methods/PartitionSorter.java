@@ -0,0 +1,283 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+
+/**
+ * Abstract partitioning method sorting implementation.
+ *
+ * @see AbstractSorter
+ *
+ * @version 1.06, 27 October 2013
+ * @since 04 October 2013
+ * @author Ilya Gubarev
+ */
+public abstract class PartitionSorter extends AbstractSorter {
+
+    /**
+     * Pivot sampling types.
+     */
+    public static enum Sampling {
+
+        /**
+         * The first item of a subarray.
+         */
+        FIRST("first item"),
+
+        /**
+         * Median of the first, the middle and the last items of a subarray.
+         */
+        MEDIAN_OF_THREE("median of three"),
+
+        /**
+         * J. Tukey "ninther", median of three medians of three.
+         */
+        NINTHER("ninther");
+
+        private final String _text;
+
+        private Sampling(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets sampling type text.
+         *
+         * @return sampling text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    /**
+     * Default small subarrays cutoff of introspective sorting.
+     */
+    protected static final int INTROSPECTIVE_CUTOFF = 16;
+
+    private static final int NINTHER_THRESHOLD = 40;
+
+    private volatile boolean _networked;
+
+    /**
+     * Creates a new instance of PartitionSorter without small subarrays
+     * cutoff.
+     */
+    protected PartitionSorter() {
+
+    }
+
+    /**
+     * Creates a new instance of PartitionSorter.
+     *
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if the cutoff is negative.
+     */
+    protected PartitionSorter(int cutoff) {
+        super(cutoff);
+    }
+
+    /**
+     * Checks if small subarrays are sorted by sorting networks.
+     *
+     * @return true if sorting networks are used.
+     */
+    public final boolean isNetworked() {
+        return _networked;
+    }
+
+    /**
+     * Sets if small subarrays of up to 16 items are sorted by sorting
+     * networks instead of insertions method.
+     *
+     * @param networked true if sorting networks are to be used.
+     */
+    public final void setNetworked(boolean networked) {
+        _networked = networked;
+    }
+
+    @Override
+    protected final boolean useNetworks() {
+        return _networked;
+    }
+
+    /**
+     * Gets introspective sorting depth limit for specified items count.
+     *
+     * @param n items count.
+     * @return depth limit.
+     */
+    protected static int getDepthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    /**
+     * Sorts specified subarray with the introspective method which tracks
+     * its depth locally, so it can be used by several threads sharing the
+     * same recursive call registry.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @param depth remaining partitioning depth.
+     * @param recursions a registry of recursive calls.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     * @see Registry
+     */
+    protected final <T> void introSort(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last, int depth,
+            Registry recursions) {
+        if (last <= first || sortSmall(target, comparator, first, last)) {
+            return;
+        }
+        if (depth == 0) {
+            heapSort(target, comparator, first, last);
+            return;
+        }
+        int pivot = separate(target, comparator, first, last,
+                Sampling.MEDIAN_OF_THREE);
+        registerRecursiveCall(recursions);
+        introSort(target, comparator, first, pivot - 1, depth - 1,
+                recursions);
+        registerRecursiveReturn(recursions);
+        registerRecursiveCall(recursions);
+        introSort(target, comparator, pivot + 1, last, depth - 1,
+                recursions);
+        registerRecursiveReturn(recursions);
+    }
+
+    /**
+     * Partitions specified subarray around a sampled pivot item.
+     * Items less than the pivot are placed before it, items greater than
+     * the pivot are placed after it, items equal to the pivot can be placed
+     * on both sides.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @param sampling pivot sampling type.
+     * @return final index of the pivot item.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     * @see Sampling
+     */
+    protected final <T> int separate(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last, Sampling sampling) {
+        int pivot = place(target, comparator, first, last, sampling);
+        int i = pivot;
+        int j = last + 1;
+        while (true) {
+            while (less(target, comparator, ++i, pivot)) {
+                if (i == last) {
+                    break;
+                }
+            }
+            while (less(target, comparator, pivot, --j)) {
+                if (j == pivot) {
+                    break;
+                }
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j);
+        }
+        swap(target, pivot, j);
+        return j;
+    }
+
+    /**
+     * Samples a pivot item of specified subarray and places it at the
+     * beginning of the subarray. Sampled items are ordered in place rather
+     * than just exchanging the pivot with the first item, so the first
+     * item is not greater than the pivot placed right after it, and
+     * partitioning of sorted and reversed subarrays stays balanced.
+     * Items before the pivot are not greater than it, so only the items
+     * after the pivot need partitioning.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @param sampling pivot sampling type.
+     * @return an index of the pivot item.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     * @see Sampling
+     */
+    protected final <T> int place(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last, Sampling sampling) {
+        if (sampling == Sampling.FIRST || last - first < 2) {
+            return first;
+        }
+        int middle = first + (last - first) / 2;
+        if (sampling == Sampling.NINTHER
+                && last - first >= NINTHER_THRESHOLD) {
+            int step = (last - first + 1) / 8;
+            sortThree(target, comparator, first, first + step,
+                    first + 2 * step);
+            sortThree(target, comparator, middle - step, middle,
+                    middle + step);
+            sortThree(target, comparator, last - 2 * step, last - step,
+                    last);
+            sortThree(target, comparator, first + step, middle,
+                    last - step);
+            swap(target, first + 1, middle);
+            if (swapIfLess(target, comparator, first + 1, first)) {
+                return first;
+            }
+            return first + 1;
+        }
+        sortThree(target, comparator, first, middle, last);
+        swap(target, first + 1, middle);
+        return first + 1;
+    }
+
+    /**
+     * Orders three specified items in place.
+     *
+     * @param target target array model.
+     * @param comparator an item comparator.
+     * @param first an index of the first item.
+     * @param second an index of the second item.
+     * @param third an index of the third item.
+     *
+     * @see ArrayModel
+     * @see Comparator
+     */
+    protected final <T> void sortThree(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int second, int third) {
+        swapIfLess(target, comparator, second, first);
+        if (swapIfLess(target, comparator, third, second)) {
+            swapIfLess(target, comparator, second, first);
+        }
+    }
+}
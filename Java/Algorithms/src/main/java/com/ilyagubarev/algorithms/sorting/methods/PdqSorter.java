@@ -0,0 +1,294 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.networks.SortingNetworks;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * O. Peters pattern-defeating "quicksort" (pdqsort) algorithm
+ * implementation. Pivots are chosen as a median of three or a ninther,
+ * subarrays starting with an item equal to the preceding pivot are
+ * partitioned with all equal items to the left, so duplicates are handled
+ * in linear time. Highly unbalanced partitions are counted as bad ones and
+ * break possible patterns by exchanging several items; once "log2(n)" bad
+ * partitions occurred, the subarray is sorted with the heap based method.
+ * Partitions that required no exchanges are checked with a limited
+ * insertions sorting, so sorted and reversed inputs are sorted in linear
+ * time. Bad partitions and heap based fallbacks are provided as
+ * statistics.
+ *
+ * @see FootprintSorter
+ * @see PartitionSorter
+ * @see ReportingSorter
+ *
+ * @version 1.05, 27 October 2013
+ * @since 16 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PdqSorter extends PartitionSorter
+        implements FootprintSorter, ReportingSorter {
+
+    public static final int DEFAULT_CUTOFF = 24;
+
+    public static final String BAD_PARTITIONS = "bad partitions";
+    public static final String HEAP_FALLBACKS = "heap sort fallbacks";
+
+    private static final int MIN_PARTITION_SIZE = 3;
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int PARTIAL_INSERTION_LIMIT = 8;
+    private static final int UNBALANCE_RATIO = 8;
+
+    private long _badPartitions;
+    private long _heapFallbacks;
+
+    /**
+     * Creates a new instance of PdqSorter.
+     */
+    public PdqSorter() {
+        super(DEFAULT_CUTOFF);
+    }
+
+    @Override
+    public String getInfo() {
+        return "Pattern-defeating \"quicksort\" method";
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return 0;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(BAD_PARTITIONS, (double) _badPartitions);
+        result.put(HEAP_FALLBACKS, (double) _heapFallbacks);
+        return result;
+    }
+
+    @Override
+    public synchronized <T> void sort(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        _badPartitions = 0;
+        _heapFallbacks = 0;
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        sort(target, comparator, 0, size, getDepthLimit(size) / 2, true,
+                recursions, stopwatch);
+    }
+
+    private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int begin, int end, int badAllowed, boolean leftmost,
+            Registry recs, Stopwatch stopwatch) {
+        while (true) {
+            int size = end - begin;
+            if (size < Math.max(getCutoff() + 1, MIN_PARTITION_SIZE)) {
+                if (size <= SortingNetworks.MAX_SIZE && isNetworked()) {
+                    networkSort(target, comparator, begin, end - 1);
+                } else if (leftmost) {
+                    insertionSort(target, comparator, begin, end - 1);
+                } else {
+                    insertUnguarded(target, comparator, begin, end);
+                }
+                return;
+            }
+            choosePivot(target, comparator, begin, end);
+            if (!leftmost && !less(target, comparator, begin - 1, begin)) {
+                begin = separateLeft(target, comparator, begin, end) + 1;
+                continue;
+            }
+            int pivot = separateRight(target, comparator, begin, end);
+            boolean separated = pivot < 0;
+            if (separated) {
+                pivot = -pivot - 1;
+            }
+            int leftSize = pivot - begin;
+            int rightSize = end - pivot - 1;
+            if (leftSize < size / UNBALANCE_RATIO
+                    || rightSize < size / UNBALANCE_RATIO) {
+                _badPartitions++;
+                if (--badAllowed <= 0) {
+                    _heapFallbacks++;
+                    heapSort(target, comparator, begin, end - 1,
+                            stopwatch);
+                    return;
+                }
+                breakPatterns(target, begin, pivot, leftSize);
+                breakPatterns(target, pivot + 1, end, rightSize);
+            } else if (separated
+                    && insertPartially(target, comparator, begin, pivot)
+                    && insertPartially(target, comparator, pivot + 1, end)) {
+                return;
+            }
+            registerRecursiveCall(recs);
+            sort(target, comparator, begin, pivot, badAllowed, leftmost, recs,
+                    stopwatch);
+            registerRecursiveReturn(recs);
+            stopwatch.check();
+            begin = pivot + 1;
+            leftmost = false;
+        }
+    }
+
+    private <T> void choosePivot(ArrayModel<T> target,
+            Comparator<T> comparator, int begin, int end) {
+        int size = end - begin;
+        int half = begin + size / 2;
+        if (size > NINTHER_THRESHOLD) {
+            sortThree(target, comparator, begin, half, end - 1);
+            sortThree(target, comparator, begin + 1, half - 1, end - 2);
+            sortThree(target, comparator, begin + 2, half + 1, end - 3);
+            sortThree(target, comparator, half - 1, half, half + 1);
+            swap(target, begin, half);
+        } else {
+            sortThree(target, comparator, half, begin, end - 1);
+        }
+    }
+
+    private <T> void breakPatterns(ArrayModel<T> target, int begin, int end,
+            int size) {
+        if (size < DEFAULT_CUTOFF) {
+            return;
+        }
+        int quarter = size / 4;
+        swap(target, begin, begin + quarter);
+        swap(target, end - 1, end - quarter);
+        if (size > NINTHER_THRESHOLD) {
+            swap(target, begin + 1, begin + quarter + 1);
+            swap(target, begin + 2, begin + quarter + 2);
+            swap(target, end - 2, end - quarter - 1);
+            swap(target, end - 3, end - quarter - 2);
+        }
+    }
+
+    private <T> int separateRight(ArrayModel<T> target,
+            Comparator<T> comparator, int begin, int end) {
+        T pivot = target.read(begin);
+        int first = begin;
+        int last = end;
+        while (CommonHelper.compare(comparator, target.read(++first),
+                pivot) < 0) {
+        }
+        if (first - 1 == begin) {
+            while (first < last && CommonHelper.compare(comparator,
+                    target.read(--last), pivot) >= 0) {
+            }
+        } else {
+            while (CommonHelper.compare(comparator, target.read(--last),
+                    pivot) >= 0) {
+            }
+        }
+        boolean separated = first >= last;
+        while (first < last) {
+            swap(target, first, last);
+            while (CommonHelper.compare(comparator, target.read(++first),
+                    pivot) < 0) {
+            }
+            while (CommonHelper.compare(comparator, target.read(--last),
+                    pivot) >= 0) {
+            }
+        }
+        int result = first - 1;
+        target.write(begin, target.read(result));
+        target.write(result, pivot);
+        return separated ? -result - 1 : result;
+    }
+
+    private <T> int separateLeft(ArrayModel<T> target,
+            Comparator<T> comparator, int begin, int end) {
+        T pivot = target.read(begin);
+        int first = begin;
+        int last = end;
+        while (CommonHelper.compare(comparator, pivot,
+                target.read(--last)) < 0) {
+        }
+        if (last + 1 == end) {
+            while (first < last && CommonHelper.compare(comparator, pivot,
+                    target.read(++first)) >= 0) {
+            }
+        } else {
+            while (CommonHelper.compare(comparator, pivot,
+                    target.read(++first)) >= 0) {
+            }
+        }
+        while (first < last) {
+            swap(target, first, last);
+            while (CommonHelper.compare(comparator, pivot,
+                    target.read(--last)) < 0) {
+            }
+            while (CommonHelper.compare(comparator, pivot,
+                    target.read(++first)) >= 0) {
+            }
+        }
+        target.write(begin, target.read(last));
+        target.write(last, pivot);
+        return last;
+    }
+
+    private <T> void insertUnguarded(ArrayModel<T> target,
+            Comparator<T> comparator, int begin, int end) {
+        for (int pivot = begin + 1; pivot < end; ++pivot) {
+            T item = target.read(pivot);
+            int i = pivot;
+            T previous = target.read(i - 1);
+            while (CommonHelper.compare(comparator, item, previous) < 0) {
+                target.write(i--, previous);
+                previous = target.read(i - 1);
+            }
+            if (i != pivot) {
+                target.write(i, item);
+            }
+        }
+    }
+
+    private <T> boolean insertPartially(ArrayModel<T> target,
+            Comparator<T> comparator, int begin, int end) {
+        int moves = 0;
+        for (int pivot = begin + 1; pivot < end; ++pivot) {
+            T item = target.read(pivot);
+            int i = pivot;
+            while (i > begin) {
+                T previous = target.read(i - 1);
+                if (CommonHelper.compare(comparator, item, previous) >= 0) {
+                    break;
+                }
+                target.write(i--, previous);
+            }
+            if (i != pivot) {
+                target.write(i, item);
+                moves += pivot - i;
+                if (moves > PARTIAL_INSERTION_LIMIT) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+
+/**
+ * Introspective selection algorithm implementation. C. Hoare "quickselect"
+ * method partitions the target around sampled pivots and proceeds with
+ * the part containing the requested rank only. When the partitioning
+ * depth exceeds "2 * log2(n)", pivots are chosen with M. Blum et al.
+ * median of medians method guaranteeing linear time. Partial sorting
+ * selects the boundary item and sorts the preceding items with the
+ * introspective method, full sorting is a partial sorting of all items.
+ *
+ * @see PartitionSorter
+ * @see Selector
+ *
+ * @version 1.01, 14 October 2013
+ * @since 14 October 2013
+ * @author Ilya Gubarev
+ */
+public final class QuickSelector extends PartitionSorter implements Selector {
+
+    private static final int GROUP_SIZE = 5;
+
+    private final Sampling _sampling;
+
+    /**
+     * Creates a new instance of QuickSelector with median of three pivot
+     * sampling.
+     */
+    public QuickSelector() {
+        this(Sampling.MEDIAN_OF_THREE);
+    }
+
+    /**
+     * Creates a new instance of QuickSelector.
+     *
+     * @param sampling pivot sampling type.
+     *
+     * @see Sampling
+     */
+    public QuickSelector(Sampling sampling) {
+        super(INTROSPECTIVE_CUTOFF);
+        if (sampling == null) {
+            throw new NullPointerException("sampling type is null");
+        }
+        _sampling = sampling;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Introspective selection method (%s)",
+                _sampling);
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        partialSort(target, target.getSize(), comparator, arrayFactory,
+                nodeFactory, recursions, stopwatch);
+    }
+
+    @Override
+    public <T> T select(ArrayModel<T> target, int k, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        if (k < 0 || k >= target.getSize()) {
+            throw new IllegalArgumentException("rank is out of range");
+        }
+        int last = target.getSize() - 1;
+        select(target, comparator, 0, last, k, getDepthLimit(last + 1),
+                recursions, stopwatch);
+        return target.read(k);
+    }
+
+    @Override
+    public <T> void partialSort(ArrayModel<T> target, int k,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        int size = target.getSize();
+        if (k < 0 || k > size) {
+            throw new IllegalArgumentException("amount is out of range");
+        }
+        if (k == 0) {
+            return;
+        }
+        if (k < size) {
+            select(target, comparator, 0, size - 1, k - 1,
+                    getDepthLimit(size), recursions, stopwatch);
+        }
+        introSort(target, comparator, 0, k - 1, getDepthLimit(k), recursions);
+        stopwatch.check();
+    }
+
+    private <T> void select(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, int k, int depth, Registry recursions,
+            Stopwatch stopwatch) {
+        while (last > first) {
+            if (sortSmall(target, comparator, first, last)) {
+                return;
+            }
+            int pivot;
+            if (depth > 0) {
+                depth--;
+                pivot = separate(target, comparator, first, last, _sampling);
+            } else {
+                int median = selectMedianOfMedians(target, comparator, first,
+                        last, recursions, stopwatch);
+                swap(target, first, median);
+                pivot = separate(target, comparator, first, last,
+                        Sampling.FIRST);
+            }
+            if (k < pivot) {
+                last = pivot - 1;
+            } else if (k > pivot) {
+                first = pivot + 1;
+            } else {
+                return;
+            }
+            stopwatch.check();
+        }
+    }
+
+    private <T> int selectMedianOfMedians(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last,
+            Registry recursions, Stopwatch stopwatch) {
+        int medians = first;
+        for (int group = first; group <= last; group += GROUP_SIZE) {
+            int groupLast = Math.min(group + GROUP_SIZE - 1, last);
+            insertionSort(target, comparator, group, groupLast);
+            swap(target, medians++, group + (groupLast - group) / 2);
+        }
+        int result = first + (medians - 1 - first) / 2;
+        registerRecursiveCall(recursions);
+        select(target, comparator, first, medians - 1, result, 0, recursions,
+                stopwatch);
+        registerRecursiveReturn(recursions);
+        return result;
+    }
+}
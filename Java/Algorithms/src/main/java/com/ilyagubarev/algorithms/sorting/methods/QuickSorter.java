@@ -22,21 +22,110 @@ import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
 import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
 import com.ilyagubarev.algorithms.adt.utils.Registry;
 import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
 
 /**
  * Sorting algorithm implementation based on T. Hoare "quicksort" method.
+ * Besides the standard partitioning J. Bentley and M. McIlroy three-way
+ * partitioning and V. Yaroslavskiy dual-pivot partitioning are supported.
+ * Pivots taken as the first item of a subarray make sorted and reversed
+ * inputs cost quadratic time, so the median of three is sampled by
+ * default.
  *
- * @see AbstractSorter
+ * @see PartitionSorter
  *
- * @version 1.02, 20 September 2013
+ * @version 1.06, 27 October 2013
  * @since 16 September 2013
  * @author Ilya Gubarev
  */
-public final class QuickSorter extends AbstractSorter {
+public final class QuickSorter extends PartitionSorter {
+
+    /**
+     * Partitioning types.
+     */
+    public static enum Partitioning {
+
+        /**
+         * Standard partitioning around a single pivot.
+         */
+        TWO_WAY("two-way"),
+
+        /**
+         * J. Bentley and M. McIlroy partitioning into items less than,
+         * equal to and greater than a single pivot.
+         */
+        THREE_WAY("three-way"),
+
+        /**
+         * V. Yaroslavskiy partitioning around two pivots.
+         */
+        DUAL_PIVOT("dual-pivot");
+
+        private final String _text;
+
+        private Partitioning(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets partitioning type text.
+         *
+         * @return partitioning text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    private static final int DUAL_SAMPLING_THRESHOLD = 12;
+
+    private final Partitioning _partitioning;
+    private final Sampling _sampling;
+
+    /**
+     * Creates a new instance of QuickSorter with standard partitioning
+     * around the median of three items.
+     */
+    public QuickSorter() {
+        this(Partitioning.TWO_WAY, Sampling.MEDIAN_OF_THREE);
+    }
+
+    /**
+     * Creates a new instance of QuickSorter.
+     * Dual-pivot partitioning takes the second and the fourth of five
+     * equally spaced items as pivots if any sampling but the first item
+     * is specified.
+     *
+     * @param partitioning partitioning type.
+     * @param sampling pivot sampling type.
+     *
+     * @see Partitioning
+     * @see Sampling
+     */
+    public QuickSorter(Partitioning partitioning, Sampling sampling) {
+        if (partitioning == null) {
+            throw new NullPointerException("partitioning type is null");
+        }
+        if (sampling == null) {
+            throw new NullPointerException("sampling type is null");
+        }
+        _partitioning = partitioning;
+        _sampling = sampling;
+    }
 
     @Override
     public String getInfo() {
-        return "Standard \"quicksort\" method";
+        if (_partitioning == Partitioning.TWO_WAY
+                && _sampling == Sampling.FIRST) {
+            return "Standard \"quicksort\" method";
+        }
+        return String.format("\"Quicksort\" method (%s, %s)", _partitioning,
+                _sampling);
     }
 
     @Override
@@ -48,10 +137,25 @@ public final class QuickSorter extends AbstractSorter {
 
     private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             int first, int last, Registry recs) {
-        if (last <= first) {
+        if (last <= first || sortSmall(target, comparator, first, last)) {
             return;
         }
-        int pivot = separate(target, comparator, first, last);
+        switch (_partitioning) {
+            case THREE_WAY:
+                sortThreeWay(target, comparator, first, last, recs);
+                break;
+            case DUAL_PIVOT:
+                sortDualPivot(target, comparator, first, last, recs);
+                break;
+            default:
+                sortTwoWay(target, comparator, first, last, recs);
+                break;
+        }
+    }
+
+    private <T> void sortTwoWay(ArrayModel<T> target, Comparator<T> comparator,
+            int first, int last, Registry recs) {
+        int pivot = separate(target, comparator, first, last, _sampling);
         registerRecursiveCall(recs);
         sort(target, comparator, first, pivot - 1, recs);
         registerRecursiveReturn(recs);
@@ -60,28 +164,105 @@ public final class QuickSorter extends AbstractSorter {
         registerRecursiveReturn(recs);
     }
 
-    private <T> int separate(ArrayModel<T> target, Comparator<T> comparator,
-            int first, int last) {
-        int i = first;
+    private <T> void sortThreeWay(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last, Registry recs) {
+        int lower = place(target, comparator, first, last, _sampling);
+        T pivot = target.read(lower);
+        int i = lower;
         int j = last + 1;
-        int pivot = first;
+        int lowerEquals = lower;
+        int upperEquals = last + 1;
         while (true) {
-            while (less(target, comparator, ++i, pivot)) {
+            int left;
+            while ((left = CommonHelper.compare(comparator, target.read(++i),
+                    pivot)) < 0) {
                 if (i == last) {
                     break;
                 }
             }
-            while (less(target, comparator, pivot, --j)) {
-                if (j == first) {
+            int right;
+            while ((right = CommonHelper.compare(comparator, pivot,
+                    target.read(--j))) < 0) {
+                if (j == lower) {
                     break;
                 }
             }
             if (i >= j) {
+                if (i == j && left == 0) {
+                    swap(target, ++lowerEquals, i);
+                }
                 break;
             }
             swap(target, i, j);
+            if (right == 0) {
+                swap(target, ++lowerEquals, i);
+            }
+            if (left == 0) {
+                swap(target, --upperEquals, j);
+            }
+        }
+        i = j + 1;
+        for (int k = lower; k <= lowerEquals; ++k) {
+            swap(target, k, j--);
         }
-        swap(target, first, j);
-        return j;
+        for (int k = last; k >= upperEquals; --k) {
+            swap(target, k, i++);
+        }
+        registerRecursiveCall(recs);
+        sort(target, comparator, first, j, recs);
+        registerRecursiveReturn(recs);
+        registerRecursiveCall(recs);
+        sort(target, comparator, i, last, recs);
+        registerRecursiveReturn(recs);
+    }
+
+    private <T> void sortDualPivot(ArrayModel<T> target,
+            Comparator<T> comparator, int first, int last, Registry recs) {
+        if (_sampling != Sampling.FIRST
+                && last - first >= DUAL_SAMPLING_THRESHOLD) {
+            int sixth = (last - first + 1) / 6;
+            int[] samples = new int[5];
+            for (int k = 0; k < samples.length; ++k) {
+                samples[k] = first + (k + 1) * sixth;
+            }
+            for (int k = 1; k < samples.length; ++k) {
+                int m = k;
+                while (m > 0 && swapIfLess(target, comparator, samples[m],
+                        samples[m - 1])) {
+                    --m;
+                }
+            }
+            swap(target, first, samples[1]);
+            swap(target, last, samples[3]);
+        }
+        swapIfLess(target, comparator, last, first);
+        T lowerPivot = target.read(first);
+        T upperPivot = target.read(last);
+        int lower = first + 1;
+        int upper = last - 1;
+        int i = first + 1;
+        while (i <= upper) {
+            T item = target.read(i);
+            if (CommonHelper.compare(comparator, item, lowerPivot) < 0) {
+                swap(target, lower++, i++);
+            } else if (CommonHelper.compare(comparator, upperPivot, item) < 0) {
+                swap(target, i, upper--);
+            } else {
+                i++;
+            }
+        }
+        swap(target, first, --lower);
+        swap(target, last, ++upper);
+        registerRecursiveCall(recs);
+        sort(target, comparator, first, lower - 1, recs);
+        registerRecursiveReturn(recs);
+        if (less(target, comparator, lower, upper)) {
+            registerRecursiveCall(recs);
+            sort(target, comparator, lower + 1, upper - 1, recs);
+            registerRecursiveReturn(recs);
+        }
+        registerRecursiveCall(recs);
+        sort(target, comparator, upper + 1, last, recs);
+        registerRecursiveReturn(recs);
     }
 }
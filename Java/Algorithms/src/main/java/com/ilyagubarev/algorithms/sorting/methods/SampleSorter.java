@@ -0,0 +1,377 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Parallel sample sorting algorithm implementation based on fork/join
+ * framework. A random oversampled sample is sorted to choose splitters,
+ * items are classified into buckets by binary search over the splitters in
+ * parallel chunks (a counting pass followed by a distribution pass into the
+ * auxillary array), then buckets are copied back and sorted independently.
+ * Buckets larger than the sequential threshold are sample sorted
+ * recursively, the smaller ones are sorted with the introspective method.
+ * Bucket imbalance of the top level and the number of classification
+ * passes an item undergoes are provided as statistics.
+ *
+ * @see PartitionSorter
+ * @see ReportingSorter
+ *
+ * @version 1.03, 27 October 2013
+ * @since 09 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SampleSorter extends PartitionSorter
+        implements ReportingSorter {
+
+    public static final int DEFAULT_BUCKETS = 64;
+    public static final int DEFAULT_OVERSAMPLING = 16;
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    public static final String BUCKET_IMBALANCE = "bucket imbalance";
+    public static final String CLASSIFICATION_PASSES = "classification passes";
+
+    private static final int MAX_LEVELS = 4;
+    private static final int MIN_CHUNK_SIZE = 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int _buckets;
+    private final int _oversampling;
+    private final int _threshold;
+    private final ForkJoinPool _pool;
+    private final Random _random = new Random();
+    private double _imbalance;
+    private int _passes;
+
+    /**
+     * Creates a new instance of SampleSorter with default parameters and
+     * common fork/join pool.
+     */
+    public SampleSorter() {
+        this(DEFAULT_BUCKETS, DEFAULT_OVERSAMPLING, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance of SampleSorter with common fork/join pool.
+     *
+     * @param buckets buckets count of a classification pass.
+     * @param oversampling sample items count per bucket.
+     * @param threshold max size of a subarray to be sorted sequentially.
+     * @throws IllegalArgumentException if any parameter is illegal.
+     */
+    public SampleSorter(int buckets, int oversampling, int threshold) {
+        this(buckets, oversampling, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance of SampleSorter.
+     *
+     * @param buckets buckets count of a classification pass.
+     * @param oversampling sample items count per bucket.
+     * @param threshold max size of a subarray to be sorted sequentially.
+     * @param pool a fork/join pool to run tasks at.
+     * @throws IllegalArgumentException if any parameter is illegal.
+     *
+     * @see ForkJoinPool
+     */
+    public SampleSorter(int buckets, int oversampling, int threshold,
+            ForkJoinPool pool) {
+        super(INTROSPECTIVE_CUTOFF);
+        if (buckets < 2) {
+            throw new IllegalArgumentException("buckets count is less than 2");
+        }
+        if (oversampling < 1) {
+            throw new IllegalArgumentException("oversampling is not positive");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold is not positive");
+        }
+        if (pool == null) {
+            throw new NullPointerException("fork/join pool is null");
+        }
+        _buckets = buckets;
+        _oversampling = oversampling;
+        _threshold = threshold;
+        _pool = pool;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Parallel sample method (buckets: %d, "
+                + "oversampling: %d, threshold: %d)", _buckets, _oversampling,
+                _threshold);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(BUCKET_IMBALANCE, _imbalance);
+        result.put(CLASSIFICATION_PASSES, (double) _passes);
+        return result;
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        synchronized (this) {
+            _imbalance = 0;
+            _passes = 0;
+        }
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        ArrayModel<T> aux = arrayFactory.create(size);
+        Context<T> context = new Context<T>(target, aux, comparator,
+                arrayFactory, recursions, stopwatch);
+        _pool.invoke(new RoundAction<T>(context, 0, size - 1, 1));
+        arrayFactory.desctruct(aux);
+    }
+
+    private synchronized void updateStatistics(int level, int size,
+            int maxBucket) {
+        if (level == 1) {
+            _imbalance = maxBucket / ((double) size / _buckets);
+        }
+        _passes = Math.max(_passes, 2 * level);
+    }
+
+    private synchronized int nextRandom(int bound) {
+        return _random.nextInt(bound);
+    }
+
+    private static final class Context<T> {
+
+        private final ArrayModel<T> _target;
+        private final ArrayModel<T> _aux;
+        private final Comparator<T> _comparator;
+        private final ArrayModelFactory _arrayFactory;
+        private final Registry _recursions;
+        private final Stopwatch _stopwatch;
+
+        Context(ArrayModel<T> target, ArrayModel<T> aux,
+                Comparator<T> comparator, ArrayModelFactory arrayFactory,
+                Registry recursions, Stopwatch stopwatch) {
+            _target = target;
+            _aux = aux;
+            _comparator = comparator;
+            _arrayFactory = arrayFactory;
+            _recursions = recursions;
+            _stopwatch = stopwatch;
+        }
+    }
+
+    private final class RoundAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Context<T> _context;
+        private final int _first;
+        private final int _last;
+        private final int _level;
+
+        RoundAction(Context<T> context, int first, int last, int level) {
+            _context = context;
+            _first = first;
+            _last = last;
+            _level = level;
+        }
+
+        @Override
+        protected void compute() {
+            registerRecursiveCall(_context._recursions);
+            int size = _last - _first + 1;
+            if (size <= _threshold || _level > MAX_LEVELS) {
+                introSort(_context._target, _context._comparator, _first, _last,
+                        getDepthLimit(size), _context._recursions);
+            } else {
+                classify(size);
+            }
+            _context._stopwatch.check();
+            registerRecursiveReturn(_context._recursions);
+        }
+
+        private void classify(int size) {
+            ArrayModel<T> splitters = selectSplitters(size);
+            int chunkCount = Math.max(1, Math.min(
+                    _pool.getParallelism() * CHUNKS_PER_THREAD,
+                    size / MIN_CHUNK_SIZE));
+            int[][] counts = new int[chunkCount][_buckets];
+            List<ChunkAction<T>> chunks = new ArrayList<ChunkAction<T>>();
+            for (int i = 0; i < chunkCount; ++i) {
+                int first = _first + (int) ((long) size * i / chunkCount);
+                int last = _first + (int) ((long) size * (i + 1) / chunkCount) - 1;
+                chunks.add(new ChunkAction<T>(_context, splitters, first, last,
+                        counts[i]));
+            }
+            invokeAll(chunks);
+            int[] bounds = new int[_buckets + 1];
+            int maxBucket = 0;
+            int position = _first;
+            for (int bucket = 0; bucket < _buckets; ++bucket) {
+                bounds[bucket] = position;
+                for (int i = 0; i < chunkCount; ++i) {
+                    int count = counts[i][bucket];
+                    counts[i][bucket] = position;
+                    position += count;
+                }
+                maxBucket = Math.max(maxBucket, position - bounds[bucket]);
+            }
+            bounds[_buckets] = position;
+            chunks.clear();
+            for (int i = 0; i < chunkCount; ++i) {
+                int first = _first + (int) ((long) size * i / chunkCount);
+                int last = _first + (int) ((long) size * (i + 1) / chunkCount) - 1;
+                chunks.add(new ChunkAction<T>(_context, splitters, first, last,
+                        counts[i], true));
+            }
+            invokeAll(chunks);
+            _context._arrayFactory.desctruct(splitters);
+            updateStatistics(_level, size, maxBucket);
+            List<BucketAction<T>> buckets = new ArrayList<BucketAction<T>>();
+            for (int bucket = 0; bucket < _buckets; ++bucket) {
+                if (bounds[bucket + 1] > bounds[bucket]) {
+                    buckets.add(new BucketAction<T>(_context, bounds[bucket],
+                            bounds[bucket + 1] - 1, _level + 1,
+                            maxBucket < size));
+                }
+            }
+            invokeAll(buckets);
+        }
+
+        private ArrayModel<T> selectSplitters(int size) {
+            int sampleSize = Math.min(_buckets * _oversampling, size);
+            ArrayModel<T> sample = _context._arrayFactory.create(sampleSize);
+            for (int i = 0; i < sampleSize; ++i) {
+                sample.write(i, _context._target.read(_first + nextRandom(size)));
+            }
+            introSort(sample, _context._comparator, 0, sampleSize - 1,
+                    getDepthLimit(sampleSize), _context._recursions);
+            ArrayModel<T> result = _context._arrayFactory.create(_buckets - 1);
+            for (int i = 0; i < _buckets - 1; ++i) {
+                result.write(i, sample.read(
+                        (int) ((long) sampleSize * (i + 1) / _buckets)));
+            }
+            _context._arrayFactory.desctruct(sample);
+            return result;
+        }
+    }
+
+    private final class ChunkAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Context<T> _context;
+        private final ArrayModel<T> _splitters;
+        private final int _first;
+        private final int _last;
+        private final int[] _positions;
+        private final boolean _distribute;
+
+        ChunkAction(Context<T> context, ArrayModel<T> splitters, int first,
+                int last, int[] positions) {
+            this(context, splitters, first, last, positions, false);
+        }
+
+        ChunkAction(Context<T> context, ArrayModel<T> splitters, int first,
+                int last, int[] positions, boolean distribute) {
+            _context = context;
+            _splitters = splitters;
+            _first = first;
+            _last = last;
+            _positions = positions;
+            _distribute = distribute;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = _first; i <= _last; ++i) {
+                T item = _context._target.read(i);
+                int bucket = findBucket(item);
+                if (_distribute) {
+                    _context._aux.write(_positions[bucket]++, item);
+                } else {
+                    _positions[bucket]++;
+                }
+            }
+            _context._stopwatch.check();
+        }
+
+        private int findBucket(T item) {
+            int low = 0;
+            int high = _splitters.getSize();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (CommonHelper.compare(_context._comparator, item,
+                        _splitters.read(middle)) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private final class BucketAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Context<T> _context;
+        private final int _first;
+        private final int _last;
+        private final int _level;
+        private final boolean _divisible;
+
+        BucketAction(Context<T> context, int first, int last, int level,
+                boolean divisible) {
+            _context = context;
+            _first = first;
+            _last = last;
+            _level = level;
+            _divisible = divisible;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = _first; i <= _last; ++i) {
+                _context._target.write(i, _context._aux.read(i));
+            }
+            if (_divisible) {
+                new RoundAction<T>(_context, _first, _last, _level).compute();
+            } else {
+                introSort(_context._target, _context._comparator, _first, _last,
+                        getDepthLimit(_last - _first + 1), _context._recursions);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+
+/**
+ * Selection algorithm common interface.
+ *
+ * @version 1.01, 14 October 2013
+ * @since 14 October 2013
+ * @author Ilya Gubarev
+ */
+public interface Selector {
+
+    /**
+     * Gets a text info about the algorithm.
+     *
+     * @return algorithm info.
+     */
+    String getInfo();
+
+    /**
+     * Rearranges the target so the item of specified rank takes its sorted
+     * position, all preceding items are not greater and all following
+     * items are not less than it.
+     *
+     * @param target target array model.
+     * @param k zero-based rank of the item to be selected.
+     * @param comparator an item comparator.
+     * @param arrayFactory array model factory.
+     * @param nodeFactory node model factory.
+     * @param recursions registry of recursive calls.
+     * @param stopwatch time consumption registry.
+     * @return selected item.
+     * @throws IllegalArgumentException if the rank is out of range.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see Comparator
+     * @see NodeModelFactory
+     * @see Registry
+     * @see Stopwatch
+     */
+    <T> T select(ArrayModel<T> target, int k, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch);
+
+    /**
+     * Rearranges the target so specified amount of the smallest items
+     * precede the others in sorted order.
+     *
+     * @param target target array model.
+     * @param k amount of the smallest items to be sorted.
+     * @param comparator an item comparator.
+     * @param arrayFactory array model factory.
+     * @param nodeFactory node model factory.
+     * @param recursions registry of recursive calls.
+     * @param stopwatch time consumption registry.
+     * @throws IllegalArgumentException if the amount is out of range.
+     *
+     * @see ArrayModel
+     * @see ArrayModelFactory
+     * @see Comparator
+     * @see NodeModelFactory
+     * @see Registry
+     * @see Stopwatch
+     */
+    <T> void partialSort(ArrayModel<T> target, int k, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch);
+}
@@ -16,6 +16,8 @@
 package com.ilyagubarev.algorithms.sorting.methods;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
 import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
@@ -26,16 +28,62 @@ import com.ilyagubarev.algorithms.sorting.utils.gapping.GapProvider;
 
 /**
  * Donald Shell method sorting algorithm implementation.
+ * In parallel mode h-chains of every large enough gap are independent, so
+ * ranges of adjacent chains are sorted by fork/join tasks. Gaps which can
+ * not provide every task with a range of adjacent chains are processed
+ * sequentially, since threads would write to neighbouring items.
  *
  * @see AbstractSorter
  *
- * @version 1.05, 20 September 2013
+ * @version 1.08, 27 October 2013
  * @since 11 September 2013
  * @author Ilya Gubarev
  */
 public final class ShellSorter extends AbstractSorter {
 
+    /**
+     * Gap passes execution modes.
+     */
+    public static enum Mode {
+
+        /**
+         * Chains of a gap are sorted one after another.
+         */
+        SEQUENTIAL("sequential"),
+
+        /**
+         * Chains of a large gap are sorted by fork/join tasks.
+         */
+        PARALLEL("parallel");
+
+        private final String _text;
+
+        private Mode(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets mode text.
+         *
+         * @return mode text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+    public static final int MIN_CHAINS = 16;
+
     private final GapProvider _provider;
+    private final Mode _mode;
+    private final int _threshold;
+    private final ForkJoinPool _pool;
 
     /**
      * Creates a new instance of ShellSorting with specified gap provider.
@@ -45,26 +93,97 @@ public final class ShellSorter extends AbstractSorter {
      * @see GapProvider
      */
     public ShellSorter(GapProvider provider) {
+        this(provider, Mode.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a new instance of ShellSorting with default parallel threshold
+     * and common fork/join pool.
+     *
+     * @param provider gap values provider.
+     * @param mode gap passes execution mode.
+     *
+     * @see GapProvider
+     * @see Mode
+     */
+    public ShellSorter(GapProvider provider, Mode mode) {
+        this(provider, mode, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance of ShellSorting.
+     *
+     * @param provider gap values provider.
+     * @param mode gap passes execution mode.
+     * @param threshold max amount of items to be processed by a single task.
+     * @param pool a fork/join pool to run tasks at.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     *
+     * @see ForkJoinPool
+     * @see GapProvider
+     * @see Mode
+     */
+    public ShellSorter(GapProvider provider, Mode mode, int threshold,
+            ForkJoinPool pool) {
+        if (provider == null) {
+            throw new NullPointerException("gap provider is null");
+        }
+        if (mode == null) {
+            throw new NullPointerException("mode is null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold is not positive");
+        }
+        if (pool == null) {
+            throw new NullPointerException("fork/join pool is null");
+        }
         _provider = provider;
+        _mode = mode;
+        _threshold = threshold;
+        _pool = pool;
     }
 
     @Override
     public String getInfo() {
-        return "Shell method with " + _provider.getSequenceInfo();
+        if (_mode == Mode.SEQUENTIAL) {
+            return "Shell method with " + _provider.getSequenceInfo();
+        }
+        return String.format("Shell method with %s (%s, threshold: %d)",
+                _provider.getSequenceInfo(), _mode, _threshold);
     }
 
     @Override
     public void prepare(int n) {
-        _provider.reset(n);
+        if (n > 0) {
+            _provider.getGaps(n);
+        }
     }
 
     @Override
     public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
             Registry recursions, Stopwatch stopwatch) {
-        while (!_provider.isEmpty()) {
-            int gap = _provider.getNext();
-            for (int pivot = gap; pivot < target.getSize(); ++pivot) {
+        int size = target.getSize();
+        if (size < 2) {
+            return;
+        }
+        for (int gap : _provider.getGaps(size)) {
+            if (_mode == Mode.PARALLEL && gap >= MIN_CHAINS * 2
+                    && size > _threshold) {
+                _pool.invoke(new ChainAction<T>(target, comparator, gap, 0,
+                        gap, recursions, stopwatch));
+            } else {
+                sort(target, comparator, gap, 0, gap, stopwatch);
+            }
+        }
+    }
+
+    private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            int gap, int firstChain, int lastChain, Stopwatch stopwatch) {
+        int size = target.getSize();
+        for (int row = gap; row < size; row += gap) {
+            int end = Math.min(row + lastChain, size);
+            for (int pivot = row + firstChain; pivot < end; ++pivot) {
                 int i = pivot;
                 while (i >= gap && swapIfLess(target, comparator, i, i - gap)) {
                     i = i - gap;
@@ -73,4 +192,47 @@ public final class ShellSorter extends AbstractSorter {
             }
         }
     }
+
+    private final class ChainAction<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayModel<T> _target;
+        private final Comparator<T> _comparator;
+        private final int _gap;
+        private final int _firstChain;
+        private final int _lastChain;
+        private final Registry _recursions;
+        private final Stopwatch _stopwatch;
+
+        ChainAction(ArrayModel<T> target, Comparator<T> comparator, int gap,
+                int firstChain, int lastChain, Registry recursions,
+                Stopwatch stopwatch) {
+            _target = target;
+            _comparator = comparator;
+            _gap = gap;
+            _firstChain = firstChain;
+            _lastChain = lastChain;
+            _recursions = recursions;
+            _stopwatch = stopwatch;
+        }
+
+        @Override
+        protected void compute() {
+            int chains = _lastChain - _firstChain;
+            long items = (long) chains * (_target.getSize() / _gap + 1);
+            if (items <= _threshold || chains < MIN_CHAINS * 2) {
+                sort(_target, _comparator, _gap, _firstChain, _lastChain,
+                        _stopwatch);
+                return;
+            }
+            registerRecursiveCall(_recursions);
+            int middle = _firstChain + chains / 2;
+            invokeAll(new ChainAction<T>(_target, _comparator, _gap,
+                    _firstChain, middle, _recursions, _stopwatch),
+                    new ChainAction<T>(_target, _comparator, _gap, middle,
+                    _lastChain, _recursions, _stopwatch));
+            registerRecursiveReturn(_recursions);
+        }
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.keys.KeyExtractor;
+import com.ilyagubarev.algorithms.utils.CommonHelper;
+
+/**
+ * Sorting method which samples the target before sorting and dispatches
+ * it to the method best suited for sampled characteristics. Evenly spaced
+ * pairs of adjacent items estimate the amount of runs, a sorted sample of
+ * items estimates the ratio of duplicates and, if a key extractor is
+ * specified, the range of keys. Sampling operations are counted as well as
+ * the ones of the chosen method; the choice is reported by the method info
+ * and statistics of the latest sorting.
+ *
+ * @see AbstractSorter
+ * @see KeyExtractor
+ * @see ReportingSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 20 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SorterSelector extends AbstractSorter
+        implements ReportingSorter {
+
+    /**
+     * Sorting method choices.
+     */
+    public static enum Choice {
+
+        /**
+         * Insertions method for small arrays.
+         */
+        INSERTION("insertions"),
+
+        /**
+         * Natural merge method for nearly sorted or reversed arrays.
+         */
+        NATURAL_MERGE("natural merge"),
+
+        /**
+         * Radix method for integer keys of a narrow range.
+         */
+        RADIX("radix"),
+
+        /**
+         * Three-way "quicksort" method for heavy duplicates.
+         */
+        THREE_WAY_QUICK("three-way \"quicksort\""),
+
+        /**
+         * Pattern-defeating "quicksort" method for any other arrays.
+         */
+        GENERAL("pattern-defeating \"quicksort\"");
+
+        private final String _text;
+
+        private Choice(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets choice text.
+         *
+         * @return choice text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    public static final String CHOICE = "choice";
+    public static final String ESTIMATED_RUNS = "estimated runs";
+    public static final String DUPLICATE_RATIO = "duplicate ratio";
+    public static final String KEY_RANGE = "key range";
+    public static final String SAMPLED_ITEMS = "sampled items";
+    public static final String SAMPLING_TIME = "sampling time";
+
+    public static final int SMALL_SIZE = 32;
+    public static final int SAMPLE_SIZE = 128;
+    public static final double PRESORTED_RATIO = 1.0 / 32;
+    public static final double DUPLICATES_RATIO = 0.5;
+    public static final int RADIX_KEY_BITS = 32;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final KeyExtractor<?> _extractor;
+    private final Sorter _insertion;
+    private final Sorter _naturalMerge;
+    private final Sorter _radix;
+    private final Sorter _threeWayQuick;
+    private final Sorter _general;
+    private Choice _choice;
+    private double _runs;
+    private double _duplicates;
+    private double _keyRange;
+    private int _sampled;
+    private double _samplingTime;
+
+    /**
+     * Creates a new instance of SorterSelector without radix method.
+     */
+    public SorterSelector() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a new instance of SorterSelector which may choose radix
+     * method if items are sorted by natural order of their keys.
+     *
+     * @param extractor item key extractor.
+     *
+     * @see KeyExtractor
+     */
+    public SorterSelector(KeyExtractor<?> extractor) {
+        this(extractor, new LsdRadixSorter(extractor,
+                LsdRadixSorter.LONG_KEY_BITS));
+    }
+
+    private SorterSelector(KeyExtractor<?> extractor, Sorter radix) {
+        _extractor = extractor;
+        _radix = radix;
+        _insertion = new InsertionSorter();
+        _naturalMerge = new NaturalMergeSorter();
+        _threeWayQuick = new QuickSorter(QuickSorter.Partitioning.THREE_WAY,
+                PartitionSorter.Sampling.MEDIAN_OF_THREE);
+        _general = new PdqSorter();
+    }
+
+    @Override
+    public synchronized String getInfo() {
+        if (_choice == null) {
+            return "Sorter selection method";
+        }
+        return String.format("Sorter selection method (latest choice: %s)",
+                _choice);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getStatistics() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        result.put(CHOICE, _choice == null ? -1.0 : _choice.ordinal());
+        result.put(ESTIMATED_RUNS, _runs);
+        result.put(DUPLICATE_RATIO, _duplicates);
+        result.put(KEY_RANGE, _keyRange);
+        result.put(SAMPLED_ITEMS, (double) _sampled);
+        result.put(SAMPLING_TIME, _samplingTime);
+        return result;
+    }
+
+    /**
+     * Gets the sorting method choice of the latest sorting.
+     *
+     * @return the latest choice or null if nothing has been sorted yet.
+     *
+     * @see Choice
+     */
+    public synchronized Choice getChoice() {
+        return _choice;
+    }
+
+    @Override
+    public void prepare(int n) {
+        _insertion.prepare(n);
+        _naturalMerge.prepare(n);
+        _threeWayQuick.prepare(n);
+        _general.prepare(n);
+        if (_radix != null) {
+            _radix.prepare(n);
+        }
+    }
+
+    @Override
+    public synchronized <T> void sort(ArrayModel<T> target,
+            Comparator<T> comparator, ArrayModelFactory arrayFactory,
+            NodeModelFactory nodeFactory, Registry recursions,
+            Stopwatch stopwatch) {
+        long start = System.nanoTime();
+        _runs = 0;
+        _duplicates = 0;
+        _keyRange = 0;
+        _sampled = 0;
+        _choice = choose(target, comparator);
+        _samplingTime = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        getSorter(_choice).sort(target, comparator, arrayFactory, nodeFactory,
+                recursions, stopwatch);
+    }
+
+    private <T> Choice choose(ArrayModel<T> target,
+            final Comparator<T> comparator) {
+        int size = target.getSize();
+        if (size <= SMALL_SIZE) {
+            return Choice.INSERTION;
+        }
+        int pairs = Math.min(SAMPLE_SIZE, size - 1);
+        Object[] sample = new Object[pairs];
+        int descents = 0;
+        for (int k = 0; k < pairs; ++k) {
+            int i = (int) ((long) k * (size - 1) / pairs);
+            T item = target.read(i);
+            if (less(target, comparator, i + 1, i)) {
+                descents++;
+            }
+            sample[k] = item;
+        }
+        _sampled = pairs * 2;
+        double descentRatio = (double) descents / pairs;
+        _runs = descentRatio * (size - 1) + 1;
+        if (descentRatio <= PRESORTED_RATIO
+                || descentRatio >= 1 - PRESORTED_RATIO) {
+            return Choice.NATURAL_MERGE;
+        }
+        Arrays.sort(sample, new Comparator<Object>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public int compare(Object first, Object second) {
+                return CommonHelper.compare(comparator, (T) first, (T) second);
+            }
+        });
+        int distinct = 1;
+        for (int k = 1; k < pairs; ++k) {
+            @SuppressWarnings("unchecked")
+            T previous = (T) sample[k - 1];
+            @SuppressWarnings("unchecked")
+            T item = (T) sample[k];
+            if (CommonHelper.compare(comparator, previous, item) != 0) {
+                distinct++;
+            }
+        }
+        _duplicates = 1 - (double) distinct / pairs;
+        if (_radix != null && comparator == null) {
+            long min = getKey(sample[0]);
+            long max = getKey(sample[pairs - 1]);
+            _keyRange = (double) max - min;
+            if (_keyRange < (double) (1L << RADIX_KEY_BITS)) {
+                return Choice.RADIX;
+            }
+        }
+        if (_duplicates >= DUPLICATES_RATIO) {
+            return Choice.THREE_WAY_QUICK;
+        }
+        return Choice.GENERAL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long getKey(T item) {
+        return ((KeyExtractor<T>) _extractor).getKey(item);
+    }
+
+    private Sorter getSorter(Choice choice) {
+        switch (choice) {
+            case INSERTION:
+                return _insertion;
+            case NATURAL_MERGE:
+                return _naturalMerge;
+            case RADIX:
+                return _radix;
+            case THREE_WAY_QUICK:
+                return _threeWayQuick;
+            default:
+                return _general;
+        }
+    }
+}
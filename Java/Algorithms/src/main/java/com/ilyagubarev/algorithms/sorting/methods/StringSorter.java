@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.sorting.utils.keys.CharExtractor;
+
+/**
+ * Abstract string keys sorting implementation.
+ * Items are ordered by character keys provided by a character extractor,
+ * custom comparators are not supported.
+ *
+ * @see AbstractSorter
+ * @see CharExtractor
+ *
+ * @version 1.03, 27 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public abstract class StringSorter extends AbstractSorter {
+
+    private final CharExtractor<?> _extractor;
+
+    /**
+     * Creates a new instance of StringSorter without small subarrays
+     * cutoff.
+     *
+     * @param extractor item key character extractor.
+     *
+     * @see CharExtractor
+     */
+    protected StringSorter(CharExtractor<?> extractor) {
+        this(extractor, 0);
+    }
+
+    /**
+     * Creates a new instance of StringSorter.
+     *
+     * @param extractor item key character extractor.
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if the cutoff is negative.
+     *
+     * @see CharExtractor
+     */
+    protected StringSorter(CharExtractor<?> extractor, int cutoff) {
+        super(cutoff);
+        if (extractor == null) {
+            throw new NullPointerException("character extractor is null");
+        }
+        _extractor = extractor;
+    }
+
+    /**
+     * Gets a text info about the character extractor.
+     *
+     * @return character extractor info.
+     */
+    protected final String getExtractorInfo() {
+        return _extractor.getInfo();
+    }
+
+    /**
+     * Gets a character of item key at specified position.
+     *
+     * @param item an item.
+     * @param index character position.
+     * @return character code or -1 if the position is out of the key.
+     */
+    @SuppressWarnings("unchecked")
+    protected final <T> int charAt(T item, int index) {
+        return ((CharExtractor<T>) _extractor).getChar(item, index);
+    }
+
+    /**
+     * Throws runtime exception if a custom comparator is specified.
+     *
+     * @param comparator an item comparator.
+     *
+     * @see Comparator
+     */
+    protected final void throwExceptionIfComparator(Comparator<?> comparator) {
+        if (comparator != null) {
+            throw new IllegalArgumentException("comparator is not supported");
+        }
+    }
+
+    /**
+     * Sorts specified subarray with insertions method comparing keys from
+     * specified character position only.
+     *
+     * @param target target array model.
+     * @param first an index of the first item of the subarray.
+     * @param last an index of the last item of the subarray.
+     * @param depth an index of the first character to be compared.
+     *
+     * @see ArrayModel
+     */
+    protected final <T> void insertionSort(ArrayModel<T> target, int first,
+            int last, int depth) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            T item = target.read(pivot);
+            int i = pivot;
+            while (i > first) {
+                T previous = target.read(i - 1);
+                if (!less(item, previous, depth)) {
+                    break;
+                }
+                target.write(i, previous);
+                --i;
+            }
+            if (i != pivot) {
+                target.write(i, item);
+            }
+        }
+    }
+
+    private boolean less(Object first, Object second, int depth) {
+        for (int i = depth; ; ++i) {
+            int firstChar = charAt(first, i);
+            int secondChar = charAt(second, i);
+            if (firstChar != secondChar) {
+                return firstChar < secondChar;
+            }
+            if (firstChar < 0) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.methods;
+
+import java.util.Comparator;
+
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModel;
+import com.ilyagubarev.algorithms.adt.arrays.ArrayModelFactory;
+import com.ilyagubarev.algorithms.adt.nodes.NodeModelFactory;
+import com.ilyagubarev.algorithms.adt.utils.Registry;
+import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
+import com.ilyagubarev.algorithms.sorting.utils.keys.CharExtractor;
+
+/**
+ * J. Bentley and R. Sedgewick three-way radix "quicksort" implementation
+ * for string keys. Subarrays are partitioned into keys with the current
+ * character less than, equal to and greater than the one of the middle
+ * item, the equal part is sorted recursively on the next character. Small
+ * subarrays are sorted with insertions method.
+ *
+ * @see StringSorter
+ *
+ * @version 1.03, 27 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ThreeWayRadixQuickSorter extends StringSorter {
+
+    public static final int DEFAULT_CUTOFF = 15;
+
+    /**
+     * Creates a new instance of ThreeWayRadixQuickSorter.
+     *
+     * @param extractor item key character extractor.
+     *
+     * @see CharExtractor
+     */
+    public ThreeWayRadixQuickSorter(CharExtractor<?> extractor) {
+        this(extractor, DEFAULT_CUTOFF);
+    }
+
+    /**
+     * Creates a new instance of ThreeWayRadixQuickSorter.
+     *
+     * @param extractor item key character extractor.
+     * @param cutoff max size of a subarray to be sorted with insertions.
+     * @throws IllegalArgumentException if cutoff is negative.
+     *
+     * @see CharExtractor
+     */
+    public ThreeWayRadixQuickSorter(CharExtractor<?> extractor,
+            int cutoff) {
+        super(extractor, cutoff);
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Three-way radix \"quicksort\" method (%s)",
+                getExtractorInfo());
+    }
+
+    @Override
+    public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
+            ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
+            Registry recursions, Stopwatch stopwatch) {
+        throwExceptionIfComparator(comparator);
+        sort(target, 0, target.getSize() - 1, 0, recursions, stopwatch);
+    }
+
+    private <T> void sort(ArrayModel<T> target, int first, int last,
+            int depth, Registry recs, Stopwatch stopwatch) {
+        if (last <= first || last - first < getCutoff()) {
+            insertionSort(target, first, last, depth);
+            return;
+        }
+        swap(target, first, first + (last - first) / 2);
+        int pivot = charAt(target.read(first), depth);
+        int lower = first;
+        int upper = last;
+        int i = first + 1;
+        while (i <= upper) {
+            int current = charAt(target.read(i), depth);
+            if (current < pivot) {
+                swap(target, lower++, i++);
+            } else if (current > pivot) {
+                swap(target, i, upper--);
+            } else {
+                i++;
+            }
+        }
+        stopwatch.check();
+        registerRecursiveCall(recs);
+        sort(target, first, lower - 1, depth, recs, stopwatch);
+        registerRecursiveReturn(recs);
+        if (pivot >= 0) {
+            registerRecursiveCall(recs);
+            sort(target, lower, upper, depth + 1, recs, stopwatch);
+            registerRecursiveReturn(recs);
+        }
+        registerRecursiveCall(recs);
+        sort(target, upper + 1, last, depth, recs, stopwatch);
+        registerRecursiveReturn(recs);
+    }
+}
@@ -24,35 +24,118 @@ import com.ilyagubarev.algorithms.adt.utils.Registry;
 import com.ilyagubarev.algorithms.adt.utils.Stopwatch;
 
 /**
- * Top-down merge method sorting algorithm implementation.
+ * Top-down merge method sorting algorithm implementation. Besides the
+ * standard merging through a copy to the auxillary array, ping-pong mode
+ * is supported: sorted halves are merged from the array they reside in
+ * straight into the other one, and adjacent halves already in order are
+ * not merged at all.
  *
+ * @see FootprintSorter
  * @see MergeSorter
  *
- * @version 1.04, 20 September 2013
+ * @version 1.08, 27 October 2013
  * @since 11 September 2013
  * @author Ilya Gubarev
  */
-public final class TopDownMergeSorter extends MergeSorter {
+public final class TopDownMergeSorter extends MergeSorter
+        implements FootprintSorter {
+
+    /**
+     * Merging modes.
+     */
+    public static enum Mode {
+
+        /**
+         * Subarrays are copied to the auxillary array before each merge.
+         */
+        COPYING("copying"),
+
+        /**
+         * Roles of the target and the auxillary array are switched, merges
+         * of ordered halves are skipped.
+         */
+        PING_PONG("ping-pong");
+
+        private final String _text;
+
+        private Mode(String text) {
+            _text = text;
+        }
+
+        /**
+         * Gets mode text.
+         *
+         * @return mode text.
+         */
+        public String getText() {
+            return _text;
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    private final Mode _mode;
+
+    /**
+     * Creates a new instance of TopDownMergeSorter with copying mode.
+     */
+    public TopDownMergeSorter() {
+        this(Mode.COPYING);
+    }
+
+    /**
+     * Creates a new instance of TopDownMergeSorter.
+     *
+     * @param mode merging mode.
+     *
+     * @see Mode
+     */
+    public TopDownMergeSorter(Mode mode) {
+        if (mode == null) {
+            throw new NullPointerException("mode is null");
+        }
+        _mode = mode;
+    }
 
     @Override
     public String getInfo() {
-        return "Top-down merge method";
+        if (_mode == Mode.COPYING) {
+            return "Top-down merge method";
+        }
+        return String.format("Top-down merge method (%s)", _mode);
+    }
+
+    @Override
+    public long getAuxFootprint(int n) {
+        return n;
     }
 
     @Override
     public <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             ArrayModelFactory arrayFactory, NodeModelFactory nodeFactory,
             Registry recursions, Stopwatch stopwatch) {
-        ArrayModel aux = arrayFactory.create(target.getSize());
-        sort(target, comparator, 0, target.getSize() - 1, aux, recursions,
-                stopwatch);
+        ArrayModel<T> aux = arrayFactory.create(target.getSize());
+        if (_mode == Mode.PING_PONG) {
+            ArrayModel<T> result = sort(target, aux, comparator, 0,
+                    target.getSize() - 1, recursions, stopwatch);
+            if (result != target) {
+                copy(result, 0, target.getSize() - 1, target, 0);
+            }
+        } else {
+            sort(target, comparator, 0, target.getSize() - 1, aux, recursions,
+                    stopwatch);
+        }
         arrayFactory.desctruct(aux);
     }
 
     private <T> void sort(ArrayModel<T> target, Comparator<T> comparator,
             int leftFirst, int rightLast, ArrayModel<T> aux,
             Registry recursions, Stopwatch stopwatch) {
-        if (rightLast <= leftFirst) {
+        if (rightLast <= leftFirst
+                || sortSmall(target, comparator, leftFirst, rightLast)) {
             return;
         }
         int leftLast = leftFirst + (rightLast - leftFirst) / 2;
@@ -67,4 +150,31 @@ public final class TopDownMergeSorter extends MergeSorter {
         merge(target, comparator, leftFirst, leftLast, rightLast, aux);
         stopwatch.check();
     }
+
+    private <T> ArrayModel<T> sort(ArrayModel<T> target, ArrayModel<T> aux,
+            Comparator<T> comparator, int first, int last,
+            Registry recursions, Stopwatch stopwatch) {
+        if (last <= first || sortSmall(target, comparator, first, last)) {
+            return target;
+        }
+        int middle = first + (last - first) / 2;
+        registerRecursiveCall(recursions);
+        ArrayModel<T> left = sort(target, aux, comparator, first, middle,
+                recursions, stopwatch);
+        registerRecursiveReturn(recursions);
+        registerRecursiveCall(recursions);
+        ArrayModel<T> right = sort(target, aux, comparator, middle + 1, last,
+                recursions, stopwatch);
+        registerRecursiveReturn(recursions);
+        if (right != left) {
+            copy(right, middle + 1, last, left, middle + 1);
+        }
+        if (isOrdered(left, comparator, middle)) {
+            return left;
+        }
+        ArrayModel<T> result = left == target ? aux : target;
+        merge(left, comparator, first, middle, middle + 1, last, result, first);
+        stopwatch.check();
+        return result;
+    }
 }
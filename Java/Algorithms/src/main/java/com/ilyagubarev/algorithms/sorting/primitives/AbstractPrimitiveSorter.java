@@ -0,0 +1,307 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Primitive sorting algorithm common implementation.
+ *
+ * @see PrimitiveSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public abstract class AbstractPrimitiveSorter implements PrimitiveSorter {
+
+    @Override
+    public void prepare(int n) {
+
+    }
+
+    /**
+     * Checks if the first item is less than the second.
+     *
+     * @param first the first item.
+     * @param second the second item.
+     * @param comparisons a counter of item comparisons (optional).
+     * @return true if the first item is less than the second.
+     *
+     * @see Counter
+     */
+    protected static boolean less(int first, int second, Counter comparisons) {
+        count(comparisons);
+        return first < second;
+    }
+
+    /**
+     * Checks if the first item is less than the second.
+     *
+     * @param first the first item.
+     * @param second the second item.
+     * @param comparisons a counter of item comparisons (optional).
+     * @return true if the first item is less than the second.
+     *
+     * @see Counter
+     */
+    protected static boolean less(long first, long second,
+            Counter comparisons) {
+        count(comparisons);
+        return first < second;
+    }
+
+    /**
+     * Checks if the first item is less than the second.
+     *
+     * @param first the first item.
+     * @param second the second item.
+     * @param comparisons a counter of item comparisons (optional).
+     * @return true if the first item is less than the second.
+     *
+     * @see Counter
+     */
+    protected static boolean less(double first, double second,
+            Counter comparisons) {
+        count(comparisons);
+        return Double.compare(first, second) < 0;
+    }
+
+    /**
+     * Exchanges items of specified indeces with each other.
+     *
+     * @param target target array.
+     * @param first an index of the first item.
+     * @param second an index of the second item.
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void swap(int[] target, int first, int second,
+            Counter writes) {
+        int buffer = target[first];
+        target[first] = target[second];
+        target[second] = buffer;
+        count(writes, 2);
+    }
+
+    /**
+     * Exchanges items of specified indeces with each other.
+     *
+     * @param target target array.
+     * @param first an index of the first item.
+     * @param second an index of the second item.
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void swap(long[] target, int first, int second,
+            Counter writes) {
+        long buffer = target[first];
+        target[first] = target[second];
+        target[second] = buffer;
+        count(writes, 2);
+    }
+
+    /**
+     * Exchanges items of specified indeces with each other.
+     *
+     * @param target target array.
+     * @param first an index of the first item.
+     * @param second an index of the second item.
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void swap(double[] target, int first, int second,
+            Counter writes) {
+        double buffer = target[first];
+        target[first] = target[second];
+        target[second] = buffer;
+        count(writes, 2);
+    }
+
+    /**
+     * Gets introspective sorting depth limit for specified items count.
+     *
+     * @param n items count.
+     * @return depth limit.
+     */
+    protected static int getDepthLimit(int n) {
+        return n > 0 ? 2 * (31 - Integer.numberOfLeadingZeros(n)) : 0;
+    }
+
+    /**
+     * Sorts specified subarray with the heap based method.
+     *
+     * @param target target array.
+     * @param first an index of the first item of the subarray.
+     * @param end an index following the last item of the subarray.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void heapSort(int[] target, int first, int end,
+            Counter comparisons, Counter writes) {
+        int length = end - first;
+        for (int i = length / 2 - 1; i >= 0; --i) {
+            sink(target, first, i, length, comparisons, writes);
+        }
+        for (int last = length - 1; last > 0; --last) {
+            swap(target, first, first + last, writes);
+            sink(target, first, 0, last, comparisons, writes);
+        }
+    }
+
+    private static void sink(int[] target, int offset, int index, int length,
+            Counter cmps, Counter wrts) {
+        int item = target[offset + index];
+        int child = index * 2 + 1;
+        while (child < length) {
+            if (child + 1 < length && less(target[offset + child],
+                    target[offset + child + 1], cmps)) {
+                child++;
+            }
+            if (!less(item, target[offset + child], cmps)) {
+                break;
+            }
+            target[offset + index] = target[offset + child];
+            count(wrts);
+            index = child;
+            child = index * 2 + 1;
+        }
+        target[offset + index] = item;
+        count(wrts);
+    }
+
+    /**
+     * Sorts specified subarray with the heap based method.
+     *
+     * @param target target array.
+     * @param first an index of the first item of the subarray.
+     * @param end an index following the last item of the subarray.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void heapSort(long[] target, int first, int end,
+            Counter comparisons, Counter writes) {
+        int length = end - first;
+        for (int i = length / 2 - 1; i >= 0; --i) {
+            sink(target, first, i, length, comparisons, writes);
+        }
+        for (int last = length - 1; last > 0; --last) {
+            swap(target, first, first + last, writes);
+            sink(target, first, 0, last, comparisons, writes);
+        }
+    }
+
+    private static void sink(long[] target, int offset, int index, int length,
+            Counter cmps, Counter wrts) {
+        long item = target[offset + index];
+        int child = index * 2 + 1;
+        while (child < length) {
+            if (child + 1 < length && less(target[offset + child],
+                    target[offset + child + 1], cmps)) {
+                child++;
+            }
+            if (!less(item, target[offset + child], cmps)) {
+                break;
+            }
+            target[offset + index] = target[offset + child];
+            count(wrts);
+            index = child;
+            child = index * 2 + 1;
+        }
+        target[offset + index] = item;
+        count(wrts);
+    }
+
+    /**
+     * Sorts specified subarray with the heap based method.
+     *
+     * @param target target array.
+     * @param first an index of the first item of the subarray.
+     * @param end an index following the last item of the subarray.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    protected static void heapSort(double[] target, int first, int end,
+            Counter comparisons, Counter writes) {
+        int length = end - first;
+        for (int i = length / 2 - 1; i >= 0; --i) {
+            sink(target, first, i, length, comparisons, writes);
+        }
+        for (int last = length - 1; last > 0; --last) {
+            swap(target, first, first + last, writes);
+            sink(target, first, 0, last, comparisons, writes);
+        }
+    }
+
+    private static void sink(double[] target, int offset, int index, int length,
+            Counter cmps, Counter wrts) {
+        double item = target[offset + index];
+        int child = index * 2 + 1;
+        while (child < length) {
+            if (child + 1 < length && less(target[offset + child],
+                    target[offset + child + 1], cmps)) {
+                child++;
+            }
+            if (!less(item, target[offset + child], cmps)) {
+                break;
+            }
+            target[offset + index] = target[offset + child];
+            count(wrts);
+            index = child;
+            child = index * 2 + 1;
+        }
+        target[offset + index] = item;
+        count(wrts);
+    }
+
+    /**
+     * Increments specified counter if it is present.
+     *
+     * @param counter an operation counter (optional).
+     *
+     * @see Counter
+     */
+    protected static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Increments specified counter several times if it is present.
+     *
+     * @param counter an operation counter (optional).
+     * @param times increments count.
+     *
+     * @see Counter
+     */
+    protected static void count(Counter counter, int times) {
+        if (counter != null) {
+            for (int i = 0; i < times; ++i) {
+                counter.increment();
+            }
+        }
+    }
+}
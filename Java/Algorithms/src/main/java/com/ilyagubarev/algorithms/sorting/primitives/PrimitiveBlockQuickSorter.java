@@ -0,0 +1,442 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Primitive sorting algorithm implementation based on S. Edelkamp and
+ * A. Weiss "BlockQuicksort" partitioning. Items are classified against the
+ * pivot in fixed size blocks from both ends of a subarray, offsets of the
+ * misplaced items are buffered without data dependent branches and the
+ * misplaced items are exchanged in bulk. The pivot is the median of the
+ * first, the middle and the last items ordered in place, the remainder is
+ * partitioned in the standard way. Uses insertions method for small
+ * subarrays and heap based method once partitioning gets too deep.
+ *
+ * @see AbstractPrimitiveSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 15 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveBlockQuickSorter extends AbstractPrimitiveSorter {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+
+    private static final int INSERTION_CUTOFF = 16;
+
+    private final int _blockSize;
+
+    /**
+     * Creates a new instance of PrimitiveBlockQuickSorter with default
+     * block size.
+     */
+    public PrimitiveBlockQuickSorter() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new instance of PrimitiveBlockQuickSorter.
+     *
+     * @param blockSize items count of a classification block.
+     * @throws IllegalArgumentException if block size is not positive.
+     */
+    public PrimitiveBlockQuickSorter(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size is not positive");
+        }
+        _blockSize = blockSize;
+    }
+
+    @Override
+    public String getInfo() {
+        return String.format("Primitive block \"quicksort\" method (block: %d)",
+                _blockSize);
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                new int[_blockSize], new int[_blockSize], comparisons, writes);
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                new int[_blockSize], new int[_blockSize], comparisons, writes);
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                new int[_blockSize], new int[_blockSize], comparisons, writes);
+    }
+
+    private void sort(int[] target, int first, int last, int depth,
+            int[] leftOffsets, int[] rightOffsets, Counter cmps,
+            Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, leftOffsets,
+                    rightOffsets, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(int[] target, int first, int last, int[] leftOffsets,
+            int[] rightOffsets, Counter cmps, Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        int pivot = target[first + 1];
+        int left = first + 2;
+        int right = last - 1;
+        int leftCount = 0;
+        int rightCount = 0;
+        int leftStart = 0;
+        int rightStart = 0;
+        while (right - left + 1 > 2 * _blockSize) {
+            if (leftCount == 0) {
+                leftStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    leftOffsets[leftCount] = i;
+                    leftCount += less(target[left + i], pivot, null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            if (rightCount == 0) {
+                rightStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    rightOffsets[rightCount] = i;
+                    rightCount += less(pivot, target[right - i], null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            int exchanges = Math.min(leftCount, rightCount);
+            for (int i = 0; i < exchanges; ++i) {
+                int l = left + leftOffsets[leftStart + i];
+                int r = right - rightOffsets[rightStart + i];
+                int buffer = target[l];
+                target[l] = target[r];
+                target[r] = buffer;
+            }
+            count(wrts, 2 * exchanges);
+            leftCount -= exchanges;
+            rightCount -= exchanges;
+            leftStart += exchanges;
+            rightStart += exchanges;
+            if (leftCount == 0) {
+                left += _blockSize;
+            }
+            if (rightCount == 0) {
+                right -= _blockSize;
+            }
+        }
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(int[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(int[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            int item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(long[] target, int first, int last, int depth,
+            int[] leftOffsets, int[] rightOffsets, Counter cmps,
+            Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, leftOffsets,
+                    rightOffsets, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(long[] target, int first, int last, int[] leftOffsets,
+            int[] rightOffsets, Counter cmps, Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        long pivot = target[first + 1];
+        int left = first + 2;
+        int right = last - 1;
+        int leftCount = 0;
+        int rightCount = 0;
+        int leftStart = 0;
+        int rightStart = 0;
+        while (right - left + 1 > 2 * _blockSize) {
+            if (leftCount == 0) {
+                leftStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    leftOffsets[leftCount] = i;
+                    leftCount += less(target[left + i], pivot, null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            if (rightCount == 0) {
+                rightStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    rightOffsets[rightCount] = i;
+                    rightCount += less(pivot, target[right - i], null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            int exchanges = Math.min(leftCount, rightCount);
+            for (int i = 0; i < exchanges; ++i) {
+                int l = left + leftOffsets[leftStart + i];
+                int r = right - rightOffsets[rightStart + i];
+                long buffer = target[l];
+                target[l] = target[r];
+                target[r] = buffer;
+            }
+            count(wrts, 2 * exchanges);
+            leftCount -= exchanges;
+            rightCount -= exchanges;
+            leftStart += exchanges;
+            rightStart += exchanges;
+            if (leftCount == 0) {
+                left += _blockSize;
+            }
+            if (rightCount == 0) {
+                right -= _blockSize;
+            }
+        }
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(long[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(long[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            long item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(double[] target, int first, int last, int depth,
+            int[] leftOffsets, int[] rightOffsets, Counter cmps,
+            Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, leftOffsets,
+                    rightOffsets, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, leftOffsets,
+                        rightOffsets, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(double[] target, int first, int last,
+            int[] leftOffsets, int[] rightOffsets, Counter cmps, Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        double pivot = target[first + 1];
+        int left = first + 2;
+        int right = last - 1;
+        int leftCount = 0;
+        int rightCount = 0;
+        int leftStart = 0;
+        int rightStart = 0;
+        while (right - left + 1 > 2 * _blockSize) {
+            if (leftCount == 0) {
+                leftStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    leftOffsets[leftCount] = i;
+                    leftCount += less(target[left + i], pivot, null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            if (rightCount == 0) {
+                rightStart = 0;
+                for (int i = 0; i < _blockSize; ++i) {
+                    rightOffsets[rightCount] = i;
+                    rightCount += less(pivot, target[right - i], null) ? 0 : 1;
+                }
+                count(cmps, _blockSize);
+            }
+            int exchanges = Math.min(leftCount, rightCount);
+            for (int i = 0; i < exchanges; ++i) {
+                int l = left + leftOffsets[leftStart + i];
+                int r = right - rightOffsets[rightStart + i];
+                double buffer = target[l];
+                target[l] = target[r];
+                target[r] = buffer;
+            }
+            count(wrts, 2 * exchanges);
+            leftCount -= exchanges;
+            rightCount -= exchanges;
+            leftStart += exchanges;
+            rightStart += exchanges;
+            if (leftCount == 0) {
+                left += _blockSize;
+            }
+            if (rightCount == 0) {
+                right -= _blockSize;
+            }
+        }
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(double[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(double[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            double item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+}
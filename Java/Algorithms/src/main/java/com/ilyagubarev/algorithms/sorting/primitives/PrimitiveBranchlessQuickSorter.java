@@ -0,0 +1,294 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+import com.ilyagubarev.algorithms.sorting.utils.networks.SortingNetworks;
+
+/**
+ * Primitive "quicksort" implementation avoiding data dependent branches,
+ * in the manner of vectorized partitioning. Subarrays are partitioned by
+ * N. Lomuto scheme with a branch-free cyclic exchange of every item, the
+ * pivot is the median of three items. Subarrays of up to 16 items are
+ * sorted by sorting networks with branch-free compare-exchanges. Subarrays
+ * whose pivot equals the preceding pivot are separated from the items
+ * equal to it (O. Peters "pdqsort" technique), heap sort is used if
+ * recursion gets too deep.
+ *
+ * @see AbstractPrimitiveSorter
+ * @see SortingNetworks
+ *
+ * @version 1.02, 27 October 2013
+ * @since 23 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveBranchlessQuickSorter
+        extends AbstractPrimitiveSorter {
+
+    private static final int[][] NETWORKS;
+
+    static {
+        NETWORKS = new int[SortingNetworks.MAX_SIZE + 1][];
+        for (int size = 0; size < NETWORKS.length; ++size) {
+            NETWORKS[size] = SortingNetworks.getComparators(size);
+        }
+    }
+
+    @Override
+    public String getInfo() {
+        return "Primitive branchless \"quicksort\" method";
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length, getDepthLimit(target.length), true,
+                comparisons, writes);
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length, getDepthLimit(target.length), true,
+                comparisons, writes);
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length, getDepthLimit(target.length), true,
+                comparisons, writes);
+    }
+
+    private void sort(int[] target, int first, int end, int depth,
+            boolean leftmost, Counter cmps, Counter wrts) {
+        while (end - first > SortingNetworks.MAX_SIZE) {
+            if (depth-- == 0) {
+                heapSort(target, first, end, cmps, wrts);
+                return;
+            }
+            int middle = first + (end - first) / 2;
+            exchange(target, first, middle, cmps, wrts);
+            exchange(target, middle, end - 1, cmps, wrts);
+            exchange(target, first, middle, cmps, wrts);
+            swap(target, first, middle, wrts);
+            if (!leftmost && !less(target[first - 1], target[first], cmps)) {
+                first = separateEqual(target, first, end, cmps, wrts);
+                continue;
+            }
+            int pivot = separate(target, first, end, cmps, wrts);
+            if (pivot - first < end - pivot) {
+                sort(target, first, pivot, depth, leftmost, cmps, wrts);
+                first = pivot + 1;
+                leftmost = false;
+            } else {
+                sort(target, pivot + 1, end, depth, false, cmps, wrts);
+                end = pivot;
+            }
+        }
+        int[] network = NETWORKS[end - first];
+        for (int k = 0; k < network.length; k += 2) {
+            exchange(target, first + network[k], first + network[k + 1], cmps,
+                    wrts);
+        }
+    }
+
+    private int separate(int[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        int pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            int item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(item, pivot, null) ? 1 : 0;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        swap(target, first, lower - 1, wrts);
+        return lower - 1;
+    }
+
+    private int separateEqual(int[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        int pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            int item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(pivot, item, null) ? 0 : 1;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        return lower;
+    }
+
+    private void exchange(int[] target, int first, int second, Counter cmps,
+            Counter wrts) {
+        int item1 = target[first];
+        int item2 = target[second];
+        boolean swapped = less(item2, item1, cmps);
+        target[first] = swapped ? item2 : item1;
+        target[second] = swapped ? item1 : item2;
+        count(wrts, 2);
+    }
+
+    private void sort(long[] target, int first, int end, int depth,
+            boolean leftmost, Counter cmps, Counter wrts) {
+        while (end - first > SortingNetworks.MAX_SIZE) {
+            if (depth-- == 0) {
+                heapSort(target, first, end, cmps, wrts);
+                return;
+            }
+            int middle = first + (end - first) / 2;
+            exchange(target, first, middle, cmps, wrts);
+            exchange(target, middle, end - 1, cmps, wrts);
+            exchange(target, first, middle, cmps, wrts);
+            swap(target, first, middle, wrts);
+            if (!leftmost && !less(target[first - 1], target[first], cmps)) {
+                first = separateEqual(target, first, end, cmps, wrts);
+                continue;
+            }
+            int pivot = separate(target, first, end, cmps, wrts);
+            if (pivot - first < end - pivot) {
+                sort(target, first, pivot, depth, leftmost, cmps, wrts);
+                first = pivot + 1;
+                leftmost = false;
+            } else {
+                sort(target, pivot + 1, end, depth, false, cmps, wrts);
+                end = pivot;
+            }
+        }
+        int[] network = NETWORKS[end - first];
+        for (int k = 0; k < network.length; k += 2) {
+            exchange(target, first + network[k], first + network[k + 1], cmps,
+                    wrts);
+        }
+    }
+
+    private int separate(long[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        long pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            long item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(item, pivot, null) ? 1 : 0;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        swap(target, first, lower - 1, wrts);
+        return lower - 1;
+    }
+
+    private int separateEqual(long[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        long pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            long item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(pivot, item, null) ? 0 : 1;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        return lower;
+    }
+
+    private void exchange(long[] target, int first, int second, Counter cmps,
+            Counter wrts) {
+        long item1 = target[first];
+        long item2 = target[second];
+        boolean swapped = less(item2, item1, cmps);
+        target[first] = swapped ? item2 : item1;
+        target[second] = swapped ? item1 : item2;
+        count(wrts, 2);
+    }
+
+    private void sort(double[] target, int first, int end, int depth,
+            boolean leftmost, Counter cmps, Counter wrts) {
+        while (end - first > SortingNetworks.MAX_SIZE) {
+            if (depth-- == 0) {
+                heapSort(target, first, end, cmps, wrts);
+                return;
+            }
+            int middle = first + (end - first) / 2;
+            exchange(target, first, middle, cmps, wrts);
+            exchange(target, middle, end - 1, cmps, wrts);
+            exchange(target, first, middle, cmps, wrts);
+            swap(target, first, middle, wrts);
+            if (!leftmost && !less(target[first - 1], target[first], cmps)) {
+                first = separateEqual(target, first, end, cmps, wrts);
+                continue;
+            }
+            int pivot = separate(target, first, end, cmps, wrts);
+            if (pivot - first < end - pivot) {
+                sort(target, first, pivot, depth, leftmost, cmps, wrts);
+                first = pivot + 1;
+                leftmost = false;
+            } else {
+                sort(target, pivot + 1, end, depth, false, cmps, wrts);
+                end = pivot;
+            }
+        }
+        int[] network = NETWORKS[end - first];
+        for (int k = 0; k < network.length; k += 2) {
+            exchange(target, first + network[k], first + network[k + 1], cmps,
+                    wrts);
+        }
+    }
+
+    private int separate(double[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        double pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            double item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(item, pivot, null) ? 1 : 0;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        swap(target, first, lower - 1, wrts);
+        return lower - 1;
+    }
+
+    private int separateEqual(double[] target, int first, int end, Counter cmps,
+            Counter wrts) {
+        double pivot = target[first];
+        int lower = first + 1;
+        for (int i = first + 1; i < end; ++i) {
+            double item = target[i];
+            target[i] = target[lower];
+            target[lower] = item;
+            lower += less(pivot, item, null) ? 0 : 1;
+        }
+        count(cmps, end - first - 1);
+        count(wrts, 2 * (end - first - 1));
+        return lower;
+    }
+
+    private void exchange(double[] target, int first, int second, Counter cmps,
+            Counter wrts) {
+        double item1 = target[first];
+        double item2 = target[second];
+        boolean swapped = less(item2, item1, cmps);
+        target[first] = swapped ? item2 : item1;
+        target[second] = swapped ? item1 : item2;
+        count(wrts, 2);
+    }
+}
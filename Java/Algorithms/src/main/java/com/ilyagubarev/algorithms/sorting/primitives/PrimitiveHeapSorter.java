@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Primitive in-place sorting algorithm implementation based on binary heap
+ * properties. Delegates to the heap sort shared by primitive sorters.
+ *
+ * @see AbstractPrimitiveSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveHeapSorter extends AbstractPrimitiveSorter {
+
+    @Override
+    public String getInfo() {
+        return "Primitive heap based method";
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        heapSort(target, 0, target.length, comparisons, writes);
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        heapSort(target, 0, target.length, comparisons, writes);
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        heapSort(target, 0, target.length, comparisons, writes);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Primitive top-down merge method sorting algorithm implementation.
+ * Auxillary array is allocated once and the roles of the target and the
+ * auxillary arrays are switched at every recursion level, so no copying
+ * is performed before merges. Small subarrays are sorted with insertions
+ * method.
+ *
+ * @see AbstractPrimitiveSorter
+ *
+ * @version 1.01, 02 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveMergeSorter extends AbstractPrimitiveSorter {
+
+    private static final int INSERTION_CUTOFF = 8;
+
+    @Override
+    public String getInfo() {
+        return "Primitive top-down merge method";
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        int[] aux = target.clone();
+        count(writes, aux.length);
+        sort(aux, target, 0, target.length - 1, comparisons, writes);
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        long[] aux = target.clone();
+        count(writes, aux.length);
+        sort(aux, target, 0, target.length - 1, comparisons, writes);
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        double[] aux = target.clone();
+        count(writes, aux.length);
+        sort(aux, target, 0, target.length - 1, comparisons, writes);
+    }
+
+    private void sort(int[] source, int[] target, int first, int last,
+            Counter cmps, Counter wrts) {
+        if (last - first < INSERTION_CUTOFF) {
+            insert(target, first, last, cmps, wrts);
+            return;
+        }
+        int middle = first + (last - first) / 2;
+        sort(target, source, first, middle, cmps, wrts);
+        sort(target, source, middle + 1, last, cmps, wrts);
+        if (!less(source[middle + 1], source[middle], cmps)) {
+            System.arraycopy(source, first, target, first, last - first + 1);
+            count(wrts, last - first + 1);
+            return;
+        }
+        merge(source, target, first, middle, last, cmps, wrts);
+    }
+
+    private void merge(int[] source, int[] target, int first, int middle,
+            int last, Counter cmps, Counter wrts) {
+        int left = first;
+        int right = middle + 1;
+        for (int i = first; i <= last; ++i) {
+            if (left > middle) {
+                target[i] = source[right++];
+            } else if (right > last) {
+                target[i] = source[left++];
+            } else if (less(source[right], source[left], cmps)) {
+                target[i] = source[right++];
+            } else {
+                target[i] = source[left++];
+            }
+        }
+        count(wrts, last - first + 1);
+    }
+
+    private void insert(int[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            int item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(long[] source, long[] target, int first, int last,
+            Counter cmps, Counter wrts) {
+        if (last - first < INSERTION_CUTOFF) {
+            insert(target, first, last, cmps, wrts);
+            return;
+        }
+        int middle = first + (last - first) / 2;
+        sort(target, source, first, middle, cmps, wrts);
+        sort(target, source, middle + 1, last, cmps, wrts);
+        if (!less(source[middle + 1], source[middle], cmps)) {
+            System.arraycopy(source, first, target, first, last - first + 1);
+            count(wrts, last - first + 1);
+            return;
+        }
+        merge(source, target, first, middle, last, cmps, wrts);
+    }
+
+    private void merge(long[] source, long[] target, int first, int middle,
+            int last, Counter cmps, Counter wrts) {
+        int left = first;
+        int right = middle + 1;
+        for (int i = first; i <= last; ++i) {
+            if (left > middle) {
+                target[i] = source[right++];
+            } else if (right > last) {
+                target[i] = source[left++];
+            } else if (less(source[right], source[left], cmps)) {
+                target[i] = source[right++];
+            } else {
+                target[i] = source[left++];
+            }
+        }
+        count(wrts, last - first + 1);
+    }
+
+    private void insert(long[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            long item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(double[] source, double[] target, int first, int last,
+            Counter cmps, Counter wrts) {
+        if (last - first < INSERTION_CUTOFF) {
+            insert(target, first, last, cmps, wrts);
+            return;
+        }
+        int middle = first + (last - first) / 2;
+        sort(target, source, first, middle, cmps, wrts);
+        sort(target, source, middle + 1, last, cmps, wrts);
+        if (!less(source[middle + 1], source[middle], cmps)) {
+            System.arraycopy(source, first, target, first, last - first + 1);
+            count(wrts, last - first + 1);
+            return;
+        }
+        merge(source, target, first, middle, last, cmps, wrts);
+    }
+
+    private void merge(double[] source, double[] target, int first, int middle,
+            int last, Counter cmps, Counter wrts) {
+        int left = first;
+        int right = middle + 1;
+        for (int i = first; i <= last; ++i) {
+            if (left > middle) {
+                target[i] = source[right++];
+            } else if (right > last) {
+                target[i] = source[left++];
+            } else if (less(source[right], source[left], cmps)) {
+                target[i] = source[right++];
+            } else {
+                target[i] = source[left++];
+            }
+        }
+        count(wrts, last - first + 1);
+    }
+
+    private void insert(double[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            double item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Primitive sorting algorithm implementation based on T. Hoare "quicksort"
+ * method. The first, the middle and the last items of a subarray are
+ * ordered in place and their median is used as a pivot, so the outer
+ * items bound the partitioning scans and presorted inputs are split
+ * evenly. Uses insertions method for small subarrays and heap based
+ * method once partitioning gets too deep.
+ *
+ * @see AbstractPrimitiveSorter
+ *
+ * @version 1.02, 27 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveQuickSorter extends AbstractPrimitiveSorter {
+
+    private static final int INSERTION_CUTOFF = 16;
+
+    @Override
+    public String getInfo() {
+        return "Primitive \"quicksort\" method";
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                comparisons, writes);
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                comparisons, writes);
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        sort(target, 0, target.length - 1, getDepthLimit(target.length),
+                comparisons, writes);
+    }
+
+    private void sort(int[] target, int first, int last, int depth,
+            Counter cmps, Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(int[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        int pivot = target[first + 1];
+        int i = first + 1;
+        int j = last;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(int[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(int[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            int item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(long[] target, int first, int last, int depth,
+            Counter cmps, Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(long[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        long pivot = target[first + 1];
+        int i = first + 1;
+        int j = last;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(long[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(long[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            long item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+
+    private void sort(double[] target, int first, int last, int depth,
+            Counter cmps, Counter wrts) {
+        while (last - first >= INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(target, first, last + 1, cmps, wrts);
+                return;
+            }
+            int pivot = separate(target, first, last, cmps, wrts);
+            if (pivot - first < last - pivot) {
+                sort(target, first, pivot - 1, depth, cmps, wrts);
+                first = pivot + 1;
+            } else {
+                sort(target, pivot + 1, last, depth, cmps, wrts);
+                last = pivot - 1;
+            }
+        }
+        insert(target, first, last, cmps, wrts);
+    }
+
+    private int separate(double[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        int middle = first + (last - first) / 2;
+        sortThree(target, first, middle, last, cmps, wrts);
+        swap(target, first + 1, middle, wrts);
+        double pivot = target[first + 1];
+        int i = first + 1;
+        int j = last;
+        while (true) {
+            while (less(target[++i], pivot, cmps)) {
+            }
+            while (less(pivot, target[--j], cmps)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(target, i, j, wrts);
+        }
+        swap(target, first + 1, j, wrts);
+        return j;
+    }
+
+    private void sortThree(double[] target, int first, int second, int third,
+            Counter cmps, Counter wrts) {
+        if (less(target[second], target[first], cmps)) {
+            swap(target, first, second, wrts);
+        }
+        if (less(target[third], target[second], cmps)) {
+            swap(target, second, third, wrts);
+            if (less(target[second], target[first], cmps)) {
+                swap(target, first, second, wrts);
+            }
+        }
+    }
+
+    private void insert(double[] target, int first, int last, Counter cmps,
+            Counter wrts) {
+        for (int pivot = first + 1; pivot <= last; ++pivot) {
+            double item = target[pivot];
+            int i = pivot;
+            while (i > first && less(item, target[i - 1], cmps)) {
+                target[i] = target[i - 1];
+                count(wrts);
+                --i;
+            }
+            if (i != pivot) {
+                target[i] = item;
+                count(wrts);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+import com.ilyagubarev.algorithms.sorting.utils.gapping.GapProvider;
+
+/**
+ * Primitive D. Shell method sorting algorithm implementation.
+ *
+ * @see AbstractPrimitiveSorter
+ *
+ * @version 1.02, 18 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrimitiveShellSorter extends AbstractPrimitiveSorter {
+
+    private final GapProvider _provider;
+
+    /**
+     * Creates a new instance of PrimitiveShellSorter.
+     *
+     * @param provider gap values provider.
+     *
+     * @see GapProvider
+     */
+    public PrimitiveShellSorter(GapProvider provider) {
+        if (provider == null) {
+            throw new NullPointerException("gap provider is null");
+        }
+        _provider = provider;
+    }
+
+    @Override
+    public String getInfo() {
+        return "Primitive Shell method with " + _provider.getSequenceInfo();
+    }
+
+    @Override
+    public void prepare(int n) {
+        if (n > 0) {
+            _provider.getGaps(n);
+        }
+    }
+
+    @Override
+    public void sort(int[] target, Counter comparisons, Counter writes) {
+        if (target.length < 2) {
+            return;
+        }
+        for (int gap : _provider.getGaps(target.length)) {
+            for (int pivot = gap; pivot < target.length; ++pivot) {
+                int item = target[pivot];
+                int i = pivot;
+                while (i >= gap && less(item, target[i - gap], comparisons)) {
+                    target[i] = target[i - gap];
+                    count(writes);
+                    i -= gap;
+                }
+                if (i != pivot) {
+                    target[i] = item;
+                    count(writes);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sort(long[] target, Counter comparisons, Counter writes) {
+        if (target.length < 2) {
+            return;
+        }
+        for (int gap : _provider.getGaps(target.length)) {
+            for (int pivot = gap; pivot < target.length; ++pivot) {
+                long item = target[pivot];
+                int i = pivot;
+                while (i >= gap && less(item, target[i - gap], comparisons)) {
+                    target[i] = target[i - gap];
+                    count(writes);
+                    i -= gap;
+                }
+                if (i != pivot) {
+                    target[i] = item;
+                    count(writes);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sort(double[] target, Counter comparisons, Counter writes) {
+        if (target.length < 2) {
+            return;
+        }
+        for (int gap : _provider.getGaps(target.length)) {
+            for (int pivot = gap; pivot < target.length; ++pivot) {
+                double item = target[pivot];
+                int i = pivot;
+                while (i >= gap && less(item, target[i - gap], comparisons)) {
+                    target[i] = target[i - gap];
+                    count(writes);
+                    i -= gap;
+                }
+                if (i != pivot) {
+                    target[i] = item;
+                    count(writes);
+                }
+            }
+        }
+    }
+}
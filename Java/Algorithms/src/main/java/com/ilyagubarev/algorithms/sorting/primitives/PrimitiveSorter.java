@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.primitives;
+
+import com.ilyagubarev.algorithms.adt.utils.Counter;
+
+/**
+ * Sorting algorithm common interface for arrays of primitives.
+ * Operation counters are optional and can be null if no counting is
+ * required.
+ *
+ * @version 1.01, 02 October 2013
+ * @since 02 October 2013
+ * @author Ilya Gubarev
+ */
+public interface PrimitiveSorter {
+
+    /**
+     * Gets a text info about the algorithm.
+     *
+     * @return algorithm info.
+     */
+    String getInfo();
+
+    /**
+     * Pre-sorting actions.
+     *
+     * @param n target array items count.
+     */
+    void prepare(int n);
+
+    /**
+     * Sorts specified array of integers.
+     *
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    void sort(int[] target, Counter comparisons, Counter writes);
+
+    /**
+     * Sorts specified array of long integers.
+     *
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    void sort(long[] target, Counter comparisons, Counter writes);
+
+    /**
+     * Sorts specified array of doubles.
+     * The order is the same as one provided by "Double.compare(double,
+     * double)", so negative zero precedes positive zero and NaN values are
+     * placed to the end.
+     *
+     * @param target target array to be sorted.
+     * @param comparisons a counter of item comparisons (optional).
+     * @param writes a counter of array write operations (optional).
+     *
+     * @see Counter
+     */
+    void sort(double[] target, Counter comparisons, Counter writes);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.codecs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Record codec for Long values.
+ *
+ * @see RecordCodec
+ *
+ * @version 1.01, 10 October 2013
+ * @since 10 October 2013
+ * @author Ilya Gubarev
+ */
+public final class LongCodec implements RecordCodec<Long> {
+
+    @Override
+    public String getInfo() {
+        return "long value";
+    }
+
+    @Override
+    public int getRecordSize() {
+        return Long.SIZE / Byte.SIZE;
+    }
+
+    @Override
+    public Long read(ByteBuffer buffer) {
+        return buffer.getLong();
+    }
+
+    @Override
+    public void write(Long item, ByteBuffer buffer) {
+        buffer.putLong(item);
+    }
+}
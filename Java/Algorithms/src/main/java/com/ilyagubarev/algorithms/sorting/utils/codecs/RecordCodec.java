@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.codecs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed size binary codec of items for external sorting algorithms.
+ *
+ * @version 1.01, 10 October 2013
+ * @since 10 October 2013
+ * @author Ilya Gubarev
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Gets a text info about the codec.
+     *
+     * @return codec info.
+     */
+    String getInfo();
+
+    /**
+     * Gets size of an encoded item in bytes.
+     *
+     * @return record size.
+     */
+    int getRecordSize();
+
+    /**
+     * Decodes an item from the current position of specified buffer.
+     *
+     * @param buffer a buffer to read the record from.
+     * @return decoded item.
+     *
+     * @see ByteBuffer
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * Encodes an item at the current position of specified buffer.
+     *
+     * @param item an item to be encoded.
+     * @param buffer a buffer to write the record to.
+     *
+     * @see ByteBuffer
+     */
+    void write(T item, ByteBuffer buffer);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.gapping;
+
+/**
+ * Gap value provider based on M. Ciura experimentally obtained sequence.
+ * Gaps beyond the experimental ones are extended geometrically with
+ * ratio 2.25.
+ *
+ * @see GapProvider
+ *
+ * @version 1.01, 18 October 2013
+ * @since 18 October 2013
+ * @author Ilya Gubarev
+ */
+public final class CiuraGapProvider extends GapProvider {
+
+    private static final long[] EXPERIMENTAL = {1, 4, 10, 23, 57, 132, 301,
+            701, 1750};
+    private static final double EXTENSION_RATIO = 2.25;
+
+    @Override
+    public String getSequenceInfo() {
+        return "Ciura gap sequence";
+    }
+
+    @Override
+    protected int[] getSequence(int n) {
+        long[] sequence = new long[64];
+        int count = 0;
+        long gap = 1;
+        while (count == 0 || gap < n) {
+            sequence[count++] = gap;
+            if (count < EXPERIMENTAL.length) {
+                gap = EXPERIMENTAL[count];
+            } else {
+                gap = (long) (gap * EXTENSION_RATIO);
+            }
+        }
+        return reverse(sequence, count);
+    }
+}
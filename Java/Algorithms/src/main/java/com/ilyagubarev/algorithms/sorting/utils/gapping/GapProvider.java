@@ -15,23 +15,35 @@
  */
 package com.ilyagubarev.algorithms.sorting.utils.gapping;
 
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Gap value provider for D. Shell method sorting algorithm.
+ * Gap sequences are generated once per amount of items and cached as
+ * primitive tables, so repeated sorting of arrays of the same size does not
+ * regenerate them.
  *
- * @version 1.01, 12 September 2013
+ * @version 1.02, 18 October 2013
  * @since 12 September 2013
  * @author Ilya Gubarev
  */
 public abstract class GapProvider {
 
+    private static final int CACHE_SIZE = 16;
+
+    private final Map<Integer, int[]> _cache;
     private int _current;
-    private boolean _inited;
-    private List<Integer> _sequence;
+    private int[] _gaps;
 
     protected GapProvider() {
+        _cache = new LinkedHashMap<Integer, int[]>(CACHE_SIZE, 0.75f, true) {
 
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
     }
 
     /**
@@ -41,6 +53,32 @@ public abstract class GapProvider {
      */
     public abstract String getSequenceInfo();
 
+    /**
+     * Gets a table of gap values in descending order ending with 1.
+     * The table is shared between callers and must not be modified.
+     *
+     * @param n total amount of items to be sorted.
+     * @return a table of gap values.
+     * @throws IllegalArgumentException if total amount is not positive.
+     * @throws IllegalStateException if no gaps are generated.
+     */
+    public final int[] getGaps(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("total amount is not positive");
+        }
+        synchronized (_cache) {
+            int[] result = _cache.get(n);
+            if (result == null) {
+                result = getSequence(n);
+                if (result.length < 1) {
+                    throw new IllegalStateException("no gaps are generated");
+                }
+                _cache.put(n, result);
+            }
+            return result;
+        }
+    }
+
     /**
      * Gets the next gap value.
      *
@@ -48,11 +86,10 @@ public abstract class GapProvider {
      * @throws IllegalStateException if the provider is not inited or empty.
      */
     public final int getNext() {
-        throwExceptionIfNotInited();
         if (isEmpty()) {
             throw new IllegalStateException("out of gaps");
         }
-        return _sequence.get(_current++);
+        return _gaps[_current++];
     }
 
     /**
@@ -62,8 +99,10 @@ public abstract class GapProvider {
      * @throws IllegalStateException if the provider is not inited.
      */
     public final boolean isEmpty() {
-        throwExceptionIfNotInited();
-        return _current == _sequence.size();
+        if (_gaps == null) {
+            throw new IllegalStateException("provider is not inited");
+        }
+        return _current == _gaps.length;
     }
 
     /**
@@ -74,29 +113,32 @@ public abstract class GapProvider {
      * @throws IllegalStateException if no gaps are generated.
      */
     public final void reset(int n) {
-        if (n < 1) {
-            throw new IllegalArgumentException("total amount is not positive");
-        }
-        List<Integer> sequence = getSequence(n);
-        if (sequence.size() < 1) {
-            throw new IllegalStateException("no gaps are generated");
-        }
-        _sequence = sequence;
+        _gaps = getGaps(n);
         _current = 0;
-        _inited = true;
     }
 
     /**
-     * Gets a list of values to be used as gaps (f.e. "N/2", "N/4", ..., "1").
+     * Gets a table of values to be used as gaps in descending order
+     * (f.e. "N/2", "N/4", ..., "1").
      *
      * @param n total amount of items to be sorted.
      * @return a sequence of gap values.
      */
-    protected abstract List<Integer> getSequence(int n);
+    protected abstract int[] getSequence(int n);
 
-    private void throwExceptionIfNotInited() {
-        if (!_inited) {
-            throw new IllegalStateException("provider is not inited");
+    /**
+     * Creates a descending table of gap values out of the first values of
+     * an ascending sequence.
+     *
+     * @param ascending an ascending sequence of gap values.
+     * @param count amount of values to be used.
+     * @return a descending table of gap values.
+     */
+    protected static int[] reverse(long[] ascending, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; ++i) {
+            result[i] = (int) ascending[count - 1 - i];
         }
+        return result;
     }
 }
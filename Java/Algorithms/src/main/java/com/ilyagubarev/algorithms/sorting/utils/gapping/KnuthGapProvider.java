@@ -15,16 +15,12 @@
  */
 package com.ilyagubarev.algorithms.sorting.utils.gapping;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Stack;
-
 /**
  * Gap value provider based on Donald Knuth sequence.
  *
  * @see GapProvider
  *
- * @version 1.01, 12 September 2013
+ * @version 1.02, 18 October 2013
  * @since 12 September 2013
  * @author Ilya Gubarev
  */
@@ -36,18 +32,14 @@ public final class KnuthGapProvider extends GapProvider {
     }
 
     @Override
-    protected List<Integer> getSequence(int n) {
-        Stack<Integer> reversed = new Stack<Integer>();
-        int gap = 1;
-        int k = 1;
+    protected int[] getSequence(int n) {
+        long[] sequence = new long[32];
+        int count = 0;
+        long gap = 1;
         do {
-            reversed.push(gap);
-            gap = ((int) Math.pow(3, ++k) - 1) / 2;
+            sequence[count++] = gap;
+            gap = gap * 3 + 1;
         } while (gap <= n / 3);
-        List<Integer> result = new LinkedList<Integer>();
-        while (!reversed.isEmpty()) {
-            result.add(reversed.pop());
-        }
-        return result;
+        return reverse(sequence, count);
     }
 }
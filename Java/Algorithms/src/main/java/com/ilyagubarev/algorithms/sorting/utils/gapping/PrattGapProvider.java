@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.gapping;
+
+import java.util.Arrays;
+
+/**
+ * Gap value provider based on V. Pratt sequence of "2^p * 3^q" values.
+ * The sequence has the best known worst case bound "O(N log^2 N)" but is
+ * the longest one, so it is usually slower in practice.
+ *
+ * @see GapProvider
+ *
+ * @version 1.01, 18 October 2013
+ * @since 18 October 2013
+ * @author Ilya Gubarev
+ */
+public final class PrattGapProvider extends GapProvider {
+
+    @Override
+    public String getSequenceInfo() {
+        return "Pratt gap sequence";
+    }
+
+    @Override
+    protected int[] getSequence(int n) {
+        long[] sequence = new long[16];
+        int count = 0;
+        int twos = 0;
+        int threes = 0;
+        long gap = 1;
+        while (count == 0 || gap < n) {
+            if (count == sequence.length) {
+                sequence = Arrays.copyOf(sequence, count * 2);
+            }
+            sequence[count++] = gap;
+            long byTwo = sequence[twos] * 2;
+            long byThree = sequence[threes] * 3;
+            gap = Math.min(byTwo, byThree);
+            if (gap == byTwo) {
+                twos++;
+            }
+            if (gap == byThree) {
+                threes++;
+            }
+        }
+        return reverse(sequence, count);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.gapping;
+
+/**
+ * Gap value provider based on R. Sedgewick (1986) sequence, which merges
+ * values "9 * 4^k - 9 * 2^k + 1" and "4^k - 3 * 2^k + 1".
+ *
+ * @see GapProvider
+ *
+ * @version 1.01, 18 October 2013
+ * @since 18 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SedgewickGapProvider extends GapProvider {
+
+    @Override
+    public String getSequenceInfo() {
+        return "Sedgewick gap sequence";
+    }
+
+    @Override
+    protected int[] getSequence(int n) {
+        long[] sequence = new long[64];
+        int count = 0;
+        long gap = 1;
+        for (int k = 0; count == 0 || gap < n; ++k) {
+            sequence[count++] = gap;
+            long power = 1L << (k / 2 + 1);
+            if (k % 2 == 0) {
+                gap = power * power * 4 - power * 6 + 1;
+            } else {
+                gap = power * power * 9 - power * 9 + 1;
+            }
+        }
+        return reverse(sequence, count);
+    }
+}
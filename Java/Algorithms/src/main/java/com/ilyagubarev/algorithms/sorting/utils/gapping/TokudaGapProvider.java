@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.gapping;
+
+/**
+ * Gap value provider based on N. Tokuda sequence
+ * "ceil((9 * (9 / 4)^k - 4) / 5)".
+ *
+ * @see GapProvider
+ *
+ * @version 1.01, 18 October 2013
+ * @since 18 October 2013
+ * @author Ilya Gubarev
+ */
+public final class TokudaGapProvider extends GapProvider {
+
+    private static final double RATIO = 2.25;
+
+    @Override
+    public String getSequenceInfo() {
+        return "Tokuda gap sequence";
+    }
+
+    @Override
+    protected int[] getSequence(int n) {
+        long[] sequence = new long[64];
+        int count = 0;
+        double power = 1;
+        long gap = 1;
+        while (count == 0 || gap < n) {
+            sequence[count++] = gap;
+            power *= RATIO;
+            gap = (long) Math.ceil((9 * power - 4) / 5);
+        }
+        return reverse(sequence, count);
+    }
+}
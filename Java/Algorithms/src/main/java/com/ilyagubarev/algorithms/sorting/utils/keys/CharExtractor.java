@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.keys;
+
+/**
+ * Character key extractor for string sorting algorithms.
+ *
+ * @version 1.01, 08 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public interface CharExtractor<T> {
+
+    /**
+     * Gets a text info about the extractor.
+     *
+     * @return extractor info.
+     */
+    String getInfo();
+
+    /**
+     * Gets a character of item key at specified position.
+     *
+     * @param item an item the character to be extracted from.
+     * @param index character position.
+     * @return character code or -1 if the position is out of the key.
+     */
+    int getChar(T item, int index);
+}
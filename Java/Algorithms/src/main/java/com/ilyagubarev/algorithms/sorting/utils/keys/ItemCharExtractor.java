@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.keys;
+
+import com.ilyagubarev.algorithms.adt.items.ItemModel;
+
+/**
+ * Character key extractor for item models based on character sequences.
+ * Every extraction is registered as an item character inspection.
+ *
+ * @see CharExtractor
+ * @see ItemModel
+ *
+ * @version 1.02, 27 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ItemCharExtractor implements CharExtractor<ItemModel<?>> {
+
+    @Override
+    public String getInfo() {
+        return "item characters";
+    }
+
+    @Override
+    public int getChar(ItemModel<?> item, int index) {
+        return item.charAt(index);
+    }
+}
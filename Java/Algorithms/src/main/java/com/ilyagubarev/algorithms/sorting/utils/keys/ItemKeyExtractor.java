@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.keys;
+
+import com.ilyagubarev.algorithms.adt.items.ItemModel;
+
+/**
+ * Key extractor for item models which delegates to a key extractor of
+ * item data.
+ *
+ * @see ItemModel
+ * @see KeyExtractor
+ *
+ * @version 1.02, 27 October 2013
+ * @since 07 October 2013
+ * @author Ilya Gubarev
+ */
+public final class ItemKeyExtractor implements KeyExtractor<ItemModel<?>> {
+
+    private final KeyExtractor<?> _dataExtractor;
+
+    /**
+     * Creates a new instance of ItemKeyExtractor.
+     *
+     * @param dataExtractor key extractor of item data.
+     */
+    public ItemKeyExtractor(KeyExtractor<?> dataExtractor) {
+        if (dataExtractor == null) {
+            throw new NullPointerException("data key extractor is null");
+        }
+        _dataExtractor = dataExtractor;
+    }
+
+    @Override
+    public String getInfo() {
+        return "item " + _dataExtractor.getInfo();
+    }
+
+    @Override
+    public long getKey(ItemModel<?> item) {
+        return getDataKey(item.getData());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long getDataKey(T data) {
+        return ((KeyExtractor<T>) _dataExtractor).getKey(data);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.keys;
+
+/**
+ * Numeric key extractor for key-indexed sorting algorithms.
+ *
+ * @version 1.01, 07 October 2013
+ * @since 07 October 2013
+ * @author Ilya Gubarev
+ */
+public interface KeyExtractor<T> {
+
+    /**
+     * Gets a text info about the extractor.
+     *
+     * @return extractor info.
+     */
+    String getInfo();
+
+    /**
+     * Gets a numeric key of specified item.
+     *
+     * @param item an item the key to be extracted from.
+     * @return item key.
+     */
+    long getKey(T item);
+}
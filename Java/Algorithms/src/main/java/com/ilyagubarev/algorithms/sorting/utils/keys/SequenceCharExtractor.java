@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.keys;
+
+/**
+ * Character key extractor for character sequences (f.e. String).
+ *
+ * @see CharExtractor
+ *
+ * @version 1.01, 08 October 2013
+ * @since 08 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SequenceCharExtractor
+        implements CharExtractor<CharSequence> {
+
+    @Override
+    public String getInfo() {
+        return "sequence characters";
+    }
+
+    @Override
+    public int getChar(CharSequence item, int index) {
+        return index < item.length() ? item.charAt(index) : -1;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013 Ilya Gubarev.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ilyagubarev.algorithms.sorting.utils.networks;
+
+/**
+ * Sorting networks of the least known comparators count for small arrays.
+ * A network of size N is a fixed sequence of comparators, each one orders
+ * a pair of items, which sorts any N items regardless of their values.
+ * Networks for 2 to 10 items are proven optimal (D. Knuth, "The Art of
+ * Computer Programming", vol. 3), networks for 11 to 16 items have the
+ * least known comparators counts (the one of 16 items matches M. Green's
+ * 60 comparators, the ones of 14 and 15 items are pruned from it).
+ *
+ * @version 1.01, 23 October 2013
+ * @since 23 October 2013
+ * @author Ilya Gubarev
+ */
+public final class SortingNetworks {
+
+    public static final int MAX_SIZE = 16;
+
+    private static final int[][] COMPARATORS = {
+            {},
+            {},
+            {0, 1},
+            {0, 2, 0, 1, 1, 2},
+            {0, 1, 2, 3, 0, 2, 1, 3, 1, 2},
+            {0, 3, 1, 4, 0, 2, 1, 3, 0, 1, 2, 4, 1, 2, 3, 4, 2, 3},
+            {0, 5, 1, 3, 2, 4, 1, 2, 3, 4, 0, 3, 2, 5, 0, 1, 2, 3, 4, 5, 1, 2,
+                    3, 4},
+            {0, 6, 2, 3, 4, 5, 0, 2, 1, 4, 3, 6, 0, 1, 2, 5, 3, 4, 1, 2, 4, 6,
+                    2, 3, 4, 5, 1, 2, 3, 4, 5, 6},
+            {0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7, 0, 1, 2, 3, 4, 5,
+                    6, 7, 2, 4, 3, 5, 1, 4, 3, 6, 1, 2, 3, 4, 5, 6},
+            {0, 3, 1, 7, 2, 5, 4, 8, 0, 7, 2, 4, 3, 8, 5, 6, 0, 2, 1, 3, 4, 5,
+                    7, 8, 1, 4, 3, 6, 5, 7, 0, 1, 2, 4, 3, 5, 6, 8, 2, 3, 4, 5,
+                    6, 7, 1, 2, 3, 4, 5, 6},
+            {0, 8, 1, 9, 2, 7, 3, 5, 4, 6, 0, 2, 1, 4, 5, 8, 7, 9, 0, 3, 2, 4,
+                    5, 7, 6, 9, 0, 1, 3, 6, 8, 9, 1, 5, 2, 3, 4, 8, 6, 7, 1, 2,
+                    3, 5, 4, 6, 7, 8, 2, 3, 4, 5, 6, 7, 3, 4, 5, 6},
+            {0, 8, 1, 7, 2, 6, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 0, 2,
+                    1, 6, 5, 10, 0, 3, 1, 2, 4, 6, 5, 7, 9, 10, 1, 4, 3, 5,
+                    6, 8, 7, 10, 1, 3, 2, 5, 6, 9, 8, 10, 2, 3, 4, 5, 6, 7,
+                    8, 9, 4, 6, 5, 7, 3, 4, 5, 6, 7, 8},
+            {0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9,
+                    7, 8, 10, 11, 0, 2, 1, 6, 5, 10, 9, 11, 0, 3, 1, 2, 4, 6,
+                    5, 7, 8, 11, 9, 10, 1, 4, 3, 5, 6, 8, 7, 10, 1, 3, 2, 5,
+                    6, 9, 8, 10, 2, 3, 4, 5, 6, 7, 8, 9, 4, 6, 5, 7, 3, 4,
+                    5, 6, 7, 8},
+            {0, 12, 1, 10, 2, 9, 3, 7, 5, 11, 6, 8, 1, 6, 2, 3, 4, 11, 7, 9,
+                    8, 10, 0, 4, 1, 2, 3, 6, 7, 8, 9, 10, 11, 12, 4, 6, 5, 9,
+                    8, 11, 10, 12, 0, 5, 3, 8, 4, 7, 6, 11, 9, 10, 0, 1, 2, 5,
+                    6, 9, 7, 8, 10, 11, 1, 3, 2, 4, 5, 6, 9, 10, 1, 2, 3, 4,
+                    5, 7, 6, 8, 2, 3, 4, 5, 6, 7, 8, 9, 3, 4, 5, 6},
+            {0, 13, 1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4,
+                    6, 13, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11,
+                    12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3, 12,
+                    4, 6, 5, 7, 8, 10, 9, 11, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13,
+                    2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4,
+                    5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9,
+                    3, 4, 6, 13, 8, 14, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9,
+                    10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9,
+                    12, 14, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+                    1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12,
+                    11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10,
+                    11, 12, 6, 7, 8, 9},
+            {0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7,
+                    2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12, 0, 1, 2, 3, 4, 5,
+                    6, 8, 7, 9, 10, 11, 12, 13, 14, 15, 0, 2, 1, 3, 4, 10,
+                    5, 11, 6, 7, 8, 9, 12, 14, 13, 15, 1, 2, 3, 12, 4, 6, 5, 7,
+                    8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13,
+                    11, 14, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9,
+                    10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9}
+    };
+
+    /**
+     * Gets comparators of the sorting network for specified amount of
+     * items. Comparator K orders items of indices "2K" and "2K + 1" of
+     * the result, so the first one is not greater than the second one.
+     *
+     * @param size amount of items.
+     * @return pairs of item indices.
+     * @throws IllegalArgumentException if the size is negative or exceeds
+     * the max size.
+     */
+    public static int[] getComparators(int size) {
+        checkSize(size);
+        return COMPARATORS[size].clone();
+    }
+
+    /**
+     * Gets comparators count of the sorting network for specified amount
+     * of items.
+     *
+     * @param size amount of items.
+     * @return comparators count.
+     * @throws IllegalArgumentException if the size is negative or exceeds
+     * the max size.
+     */
+    public static int getComparatorsCount(int size) {
+        checkSize(size);
+        return COMPARATORS[size].length / 2;
+    }
+
+    private static void checkSize(int size) {
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size is out of range");
+        }
+    }
+
+    private SortingNetworks() {
+
+    }
+}